@@ -1,48 +1,95 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
 
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
+    private static final String ITEMS_PREFIX = "/items";
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ResponseCache responseCache;
+    private final String itemsPath;
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory, ResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                        .requestFactory(() -> requestFactory)
                         .build()
         );
+        this.responseCache = responseCache;
+        this.itemsPath = URI.create(serverUrl + ITEMS_PREFIX).getRawPath();
     }
 
     public ResponseEntity<Object> createBooking(BookingDto bookingDto, long userId) {
-        return post("", userId, null, bookingDto);
+        ResponseEntity<Object> response = post("", userId, null, bookingDto);
+        responseCache.evict(itemsPath);
+        return response;
+    }
+
+    public ResponseEntity<Object> createBookings(List<BookingDto> bookingDtos, long userId) {
+        ResponseEntity<Object> response = post("/batch", userId, null, bookingDtos);
+        responseCache.evict(itemsPath);
+        return response;
     }
 
     public ResponseEntity<Object> updateBookingStatus(long userId, Long bookingId, Boolean approved) {
-        return patch("/" + bookingId + "?approved=" + approved, userId);
+        ResponseEntity<Object> response = patch("/" + bookingId + "?approved=" + approved, userId);
+        responseCache.evict(itemsPath);
+        return response;
+    }
+
+    public ResponseEntity<Object> updateBookingStatuses(long userId, List<Long> bookingIds, Boolean approved) {
+        ResponseEntity<Object> response =
+                patch("?approved={approved}", userId, Map.of("approved", approved), bookingIds);
+        responseCache.evict(itemsPath);
+        return response;
     }
 
     public ResponseEntity<Object> getBookingById(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getUserBookings(long userId, String state) {
-        return get("", userId, Map.of("state", state));
+    public ResponseEntity<Object> getUserBookings(long userId, String state, int from, int size, String cursor) {
+        return getBookings("", userId, state, from, size, cursor);
+    }
+
+    public ResponseEntity<Object> getOwnerBookings(long userId, String state, int from, int size, String cursor) {
+        return getBookings("/owner", userId, state, from, size, cursor);
+    }
+
+    public void streamOwnerBookings(long userId, String state, HttpServletResponse response) {
+        stream("/owner?state={state}", userId, Map.of("state", state), APPLICATION_NDJSON, response);
     }
 
-    public ResponseEntity<Object> getOwnerBookings(long userId, String state) {
-        return get("/owner", userId, Map.of("state", state));
+    private ResponseEntity<Object> getBookings(String path, long userId, String state, int from, int size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state);
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (cursor == null) {
+            return get(path + "?state={state}&from={from}&size={size}", userId, parameters);
+        }
+        parameters.put("cursor", cursor);
+        return get(path + "?state={state}&from={from}&size={size}&cursor={cursor}", userId, parameters);
     }
 }
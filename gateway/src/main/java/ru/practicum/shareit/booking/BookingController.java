@@ -2,17 +2,24 @@ package ru.practicum.shareit.booking;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.exception.*;
 
+import java.util.List;
+
 
 @RestController
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 public class BookingController {
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final int MAX_IMPORT_SIZE = 1000;
+
     private final BookingClient bookingClient;
 
     @PostMapping
@@ -25,6 +32,21 @@ public class BookingController {
         return bookingClient.createBooking(bookingDto, userId);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> createBookings(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                 @RequestBody List<@Valid BookingDto> bookingDtos) {
+        if (bookingDtos.isEmpty() || bookingDtos.size() > MAX_IMPORT_SIZE) {
+            throw new ValidationException("Можно создать от 1 до " + MAX_IMPORT_SIZE + " бронирований за раз");
+        }
+        for (BookingDto bookingDto : bookingDtos) {
+            if (bookingDto.getEnd().isBefore(bookingDto.getStart())) {
+                throw new ValidationException("Дата окончания бронирования не может быть раньше даты начала");
+            }
+        }
+
+        return bookingClient.createBookings(bookingDtos, userId);
+    }
+
     @PatchMapping("/{bookingId}")
     public ResponseEntity<Object> updateBookingStatus(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
                                                       @Positive @PathVariable Long bookingId,
@@ -32,6 +54,20 @@ public class BookingController {
         return bookingClient.updateBookingStatus(userId, bookingId, approved);
     }
 
+    @PatchMapping
+    public ResponseEntity<Object> updateBookingStatuses(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                        @RequestParam Boolean approved,
+                                                        @RequestBody List<Long> bookingIds) {
+        if (bookingIds.isEmpty() || bookingIds.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("Можно обработать от 1 до " + MAX_BATCH_SIZE + " бронирований за раз");
+        }
+        if (bookingIds.stream().anyMatch(id -> id == null || id <= 0)) {
+            throw new ValidationException("Идентификаторы бронирований должны быть положительными");
+        }
+
+        return bookingClient.updateBookingStatuses(userId, bookingIds, approved);
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> getBooking(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
                                              @Positive @PathVariable Long bookingId) {
@@ -40,13 +76,26 @@ public class BookingController {
 
     @GetMapping
     public ResponseEntity<Object> getUserBookings(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
-                                                  @RequestParam(defaultValue = "ALL") String state) {
-        return bookingClient.getUserBookings(userId, state);
+                                                  @RequestParam(defaultValue = "ALL") String state,
+                                                  @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+                                                  @Positive @RequestParam(defaultValue = "10") int size,
+                                                  @RequestParam(required = false) String cursor) {
+        return bookingClient.getUserBookings(userId, state, from, size, cursor);
     }
 
     @GetMapping("/owner")
     public ResponseEntity<Object> getOwnerBookings(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
-                                                   @RequestParam(defaultValue = "ALL") String state) {
-        return bookingClient.getOwnerBookings(userId, state);
+                                                   @RequestParam(defaultValue = "ALL") String state,
+                                                   @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+                                                   @Positive @RequestParam(defaultValue = "10") int size,
+                                                   @RequestParam(required = false) String cursor) {
+        return bookingClient.getOwnerBookings(userId, state, from, size, cursor);
+    }
+
+    @GetMapping(path = "/owner", produces = "application/x-ndjson")
+    public void streamOwnerBookings(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+                                    @RequestParam(defaultValue = "ALL") String state,
+                                    HttpServletResponse response) {
+        bookingClient.streamOwnerBookings(userId, state, response);
     }
 }
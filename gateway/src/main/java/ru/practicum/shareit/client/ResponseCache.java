@@ -0,0 +1,88 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+@Component
+public class ResponseCache implements MeterBinder {
+    public static final String CACHE_NAME = "gatewayResponses";
+
+    private final Cache<Key, ResponseEntity<Object>> cache;
+    private final Set<Load> loads = ConcurrentHashMap.newKeySet();
+
+    public ResponseCache(@Value("${shareit-gateway.cache.max-size:10000}") long maxSize,
+                         @Value("${shareit-gateway.cache.ttl:30s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public ResponseEntity<Object> get(URI uri, @Nullable Long userId, Supplier<ResponseEntity<Object>> loader) {
+        Key key = new Key(uri.getRawPath(), uri.getRawQuery(), userId);
+        ResponseEntity<Object> response = cache.getIfPresent(key);
+        if (response != null) {
+            return response;
+        }
+        Load load = new Load(key);
+        loads.add(load);
+        try {
+            response = loader.get();
+            if (response.getStatusCode().is2xxSuccessful()) {
+                cache.put(key, response);
+                // Ответ мог быть прочитан до изменения, инвалидировавшего путь во время загрузки
+                if (load.stale) {
+                    cache.asMap().remove(key, response);
+                }
+            }
+        } finally {
+            loads.remove(load);
+        }
+        return response;
+    }
+
+    public void evict(String path) {
+        String subPath = path + "/";
+        Predicate<Key> affected = key -> key.path().equals(path) || key.path().startsWith(subPath);
+        loads.stream()
+                .filter(load -> affected.test(load.key))
+                .forEach(load -> load.stale = true);
+        cache.asMap().keySet().removeIf(affected);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .register(registry);
+    }
+
+    private record Key(String path, @Nullable String query, @Nullable Long userId) {
+    }
+
+    private static final class Load {
+        private final Key key;
+        private volatile boolean stale;
+
+        private Load(Key key) {
+            this.key = key;
+        }
+    }
+}
@@ -4,50 +4,79 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.net.URI;
+import java.util.List;
 import java.util.Map;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
+    private static final String REQUESTS_PREFIX = "/requests";
+
+    private final ResponseCache responseCache;
+    private final String requestsPath;
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory, ResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                responseCache
         );
+        this.responseCache = responseCache;
+        this.requestsPath = URI.create(serverUrl + REQUESTS_PREFIX).getRawPath();
     }
 
     public ResponseEntity<Object> createItem(ItemDto itemDto, long userId) {
-        return post("", userId, null, itemDto);
+        ResponseEntity<Object> response = post("", userId, null, itemDto);
+        evictSearchAndRequests();
+        return response;
+    }
+
+    public ResponseEntity<Object> createItems(List<ItemDto> itemDtos, long userId) {
+        ResponseEntity<Object> response = post("/batch", userId, null, itemDtos);
+        evictSearchAndRequests();
+        return response;
     }
 
     public ResponseEntity<Object> updateItem(ItemDto itemDto, long itemId, long userId) {
-        return patch("/" + itemId, userId, null, itemDto);
+        ResponseEntity<Object> response = patch("/" + itemId, userId, null, itemDto);
+        evict("/" + itemId);
+        evictSearchAndRequests();
+        return response;
     }
 
     public ResponseEntity<Object> getItemById(long itemId) {
-        return get("/" + itemId);
+        return cachedGet("/" + itemId, null, null);
     }
 
-    public ResponseEntity<Object> getItems(long userId) {
-        return get("", userId);
+    public ResponseEntity<Object> getItems(long userId, int from, int size) {
+        return get("?from={from}&size={size}", userId, Map.of("from", from, "size", size));
     }
 
     public ResponseEntity<Object> searchItems(String text) {
-        return get("/search?text={text}", null, Map.of("text", text));
+        return cachedGet("/search?text={text}", null, Map.of("text", text));
     }
 
     public ResponseEntity<Object> addComment(long userId, long itemId, CommentDto commentDto) {
-        return post("/" + itemId + "/comment", userId, null, commentDto);
+        ResponseEntity<Object> response = post("/" + itemId + "/comment", userId, null, commentDto);
+        evict("/" + itemId);
+        return response;
+    }
+
+    private void evictSearchAndRequests() {
+        evict("/search");
+        responseCache.evict(requestsPath);
     }
 }
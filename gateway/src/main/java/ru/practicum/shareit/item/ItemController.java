@@ -1,19 +1,38 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/items")
 public class ItemController {
+    private static final int MAX_IMPORT_SIZE = 1000;
+    private static final String TEXT_CSV = "text/csv";
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     private final ItemClient itemClient;
+    private final ItemImporter itemImporter;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -22,6 +41,46 @@ public class ItemController {
         return itemClient.createItem(itemDto, userId);
     }
 
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ResponseEntity<Object> createItems(@RequestBody List<@Valid ItemDto> itemDtos,
+                                              @Positive @RequestHeader("X-Sharer-User-Id") long userId) {
+        if (itemDtos.isEmpty() || itemDtos.size() > MAX_IMPORT_SIZE) {
+            throw new ValidationException("Можно создать от 1 до " + MAX_IMPORT_SIZE + " вещей за раз");
+        }
+
+        return itemClient.createItems(itemDtos, userId);
+    }
+
+    @PostMapping(path = "/import", consumes = {TEXT_CSV, APPLICATION_NDJSON}, produces = APPLICATION_NDJSON)
+    public void importItems(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
+                            HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), charset));
+        OutputStream out = response.getOutputStream();
+        Consumer<ItemImportResult> results = result -> {
+            try {
+                if (response.getContentType() == null) {
+                    response.setContentType(APPLICATION_NDJSON);
+                }
+                out.write(objectMapper.writeValueAsBytes(result));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+
+        if (contentType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV))) {
+            itemImporter.importCsv(userId, reader, results);
+        } else {
+            itemImporter.importNdjson(userId, reader, results);
+        }
+        response.setContentType(APPLICATION_NDJSON);
+        out.flush();
+    }
+
     @PatchMapping("/{itemId}")
     @ResponseStatus(HttpStatus.OK)
     public ResponseEntity<Object> updateItem(
@@ -39,8 +98,10 @@ public class ItemController {
 
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<Object> getItems(@Positive @RequestHeader("X-Sharer-User-Id") long userId) {
-        return itemClient.getItems(userId);
+    public ResponseEntity<Object> getItems(@Positive @RequestHeader("X-Sharer-User-Id") long userId,
+                                           @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+                                           @Positive @RequestParam(defaultValue = "10") int size) {
+        return itemClient.getItems(userId, from, size);
     }
 
     @GetMapping("/search")
@@ -0,0 +1,238 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class ItemImporter {
+    static final int CHUNK_SIZE = 500;
+
+    private static final List<String> REQUIRED_CSV_COLUMNS = List.of("name", "description", "available");
+
+    private final ItemClient itemClient;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    public void importCsv(long userId, BufferedReader reader, Consumer<ItemImportResult> results) throws IOException {
+        importItems(userId, reader, results, true);
+    }
+
+    public void importNdjson(long userId, BufferedReader reader, Consumer<ItemImportResult> results) throws IOException {
+        importItems(userId, reader, results, false);
+    }
+
+    private void importItems(long userId, BufferedReader reader, Consumer<ItemImportResult> results,
+                             boolean csv) throws IOException {
+        List<ItemDto> chunk = new ArrayList<>(CHUNK_SIZE);
+        List<Long> chunkLines = new ArrayList<>(CHUNK_SIZE);
+        Map<String, Integer> columns = null;
+
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (csv && columns == null) {
+                columns = parseHeader(line);
+                continue;
+            }
+
+            ItemDto itemDto;
+            try {
+                itemDto = csv ? parseCsvRow(columns, line) : parseJsonRow(line);
+            } catch (IllegalArgumentException e) {
+                results.accept(ItemImportResult.failed(lineNumber, e.getMessage()));
+                continue;
+            }
+
+            Set<ConstraintViolation<ItemDto>> violations = validator.validate(itemDto);
+            if (!violations.isEmpty()) {
+                results.accept(ItemImportResult.failed(lineNumber, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; "))));
+                continue;
+            }
+
+            chunk.add(itemDto);
+            chunkLines.add(lineNumber);
+            if (chunk.size() == CHUNK_SIZE) {
+                sendChunk(userId, chunk, chunkLines, results);
+                chunk = new ArrayList<>(CHUNK_SIZE);
+                chunkLines = new ArrayList<>(CHUNK_SIZE);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            sendChunk(userId, chunk, chunkLines, results);
+        }
+    }
+
+    private void sendChunk(long userId, List<ItemDto> chunk, List<Long> chunkLines,
+                           Consumer<ItemImportResult> results) {
+        ResponseEntity<Object> response = itemClient.createItems(chunk, userId);
+        JsonNode created = response.getStatusCode().is2xxSuccessful() ? readBody(response) : null;
+        if (created != null && created.isArray()) {
+            for (int i = 0; i < chunkLines.size(); i++) {
+                results.accept(importResult(chunkLines.get(i), created.get(i)));
+            }
+        } else if (response.getStatusCode().is4xxClientError() && chunk.size() > 1) {
+            for (int i = 0; i < chunk.size(); i++) {
+                sendRow(userId, chunk.get(i), chunkLines.get(i), results);
+            }
+        } else {
+            String error = errorMessage(response);
+            chunkLines.forEach(chunkLine -> results.accept(ItemImportResult.failed(chunkLine, error)));
+        }
+    }
+
+    private void sendRow(long userId, ItemDto itemDto, long line, Consumer<ItemImportResult> results) {
+        ResponseEntity<Object> response = itemClient.createItem(itemDto, userId);
+        if (response.getStatusCode().is2xxSuccessful()) {
+            results.accept(importResult(line, readBody(response)));
+        } else {
+            results.accept(ItemImportResult.failed(line, errorMessage(response)));
+        }
+    }
+
+    private static ItemImportResult importResult(long line, JsonNode created) {
+        if (created == null || !created.hasNonNull("id")) {
+            return ItemImportResult.failed(line, "Сервер не вернул идентификатор созданной вещи");
+        }
+        return ItemImportResult.imported(line, created.get("id").asLong());
+    }
+
+    private JsonNode readBody(ResponseEntity<Object> response) {
+        if (!(response.getBody() instanceof byte[] bytes)) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(bytes);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private String errorMessage(ResponseEntity<Object> response) {
+        Object body = response.getBody();
+        String text = body instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8)
+                : String.valueOf(body);
+        try {
+            JsonNode json = objectMapper.readTree(text);
+            for (String field : List.of("error", "message")) {
+                if (json.hasNonNull(field)) {
+                    return json.get(field).asText();
+                }
+            }
+        } catch (JsonProcessingException ignored) {
+            // fall back to the raw body below
+        }
+        return "Сервер ответил " + response.getStatusCode().value() + ": " + text;
+    }
+
+    private ItemDto parseJsonRow(String line) {
+        try {
+            return objectMapper.readValue(line, ItemDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Некорректный JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private static Map<String, Integer> parseHeader(String line) {
+        List<String> names = parseCsvLine(line);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.keySet().containsAll(REQUIRED_CSV_COLUMNS)) {
+            throw new ValidationException("Заголовок CSV должен содержать колонки name, description, available");
+        }
+        return columns;
+    }
+
+    private static ItemDto parseCsvRow(Map<String, Integer> columns, String line) {
+        List<String> values = parseCsvLine(line);
+        if (values.size() != columns.size()) {
+            throw new IllegalArgumentException("Ожидалось колонок: " + columns.size() + ", получено: " + values.size());
+        }
+
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName(value(columns, values, "name"));
+        itemDto.setDescription(value(columns, values, "description"));
+
+        String available = value(columns, values, "available");
+        if (available != null) {
+            if (!available.equalsIgnoreCase("true") && !available.equalsIgnoreCase("false")) {
+                throw new IllegalArgumentException("Поле 'available' должно быть true или false");
+            }
+            itemDto.setAvailable(Boolean.parseBoolean(available));
+        }
+
+        String requestId = value(columns, values, "requestid");
+        if (requestId != null) {
+            try {
+                itemDto.setRequestId(Long.parseLong(requestId.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Поле 'requestId' должно быть числом");
+            }
+        }
+        return itemDto;
+    }
+
+    private static String value(Map<String, Integer> columns, List<String> values, String column) {
+        Integer index = columns.get(column);
+        if (index == null || values.get(index).isEmpty()) {
+            return null;
+        }
+        return values.get(index);
+    }
+
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Незакрытая кавычка");
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
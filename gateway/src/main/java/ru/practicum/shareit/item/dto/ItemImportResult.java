@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ItemImportResult {
+    private long line;
+    private Long id;
+    private String error;
+
+    public static ItemImportResult imported(long line, long id) {
+        return new ItemImportResult(line, id, null);
+    }
+
+    public static ItemImportResult failed(long line, String error) {
+        return new ItemImportResult(line, null, error);
+    }
+}
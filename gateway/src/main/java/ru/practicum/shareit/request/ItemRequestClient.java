@@ -4,38 +4,45 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+
+import java.util.Map;
 
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                             ClientHttpRequestFactory requestFactory, ResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                responseCache
         );
     }
 
     public ResponseEntity<Object> createRequest(long userId, ItemRequestDto requestDto) {
-        return post("", userId, null, requestDto);
+        ResponseEntity<Object> response = post("", userId, null, requestDto);
+        evict("");
+        return response;
     }
 
     public ResponseEntity<Object> getUserRequests(long userId) {
-        return get("", userId);
+        return cachedGet("", userId, null);
     }
 
-    public ResponseEntity<Object> getAllRequests(long userId) {
-        return get("/all", userId);
+    public ResponseEntity<Object> getAllRequests(long userId, int from, int size) {
+        return cachedGet("/all?from={from}&size={size}", userId, Map.of("from", from, "size", size));
     }
 
     public ResponseEntity<Object> getRequestById(long userId, long requestId) {
-        return get("/" + requestId, userId);
+        return cachedGet("/" + requestId, userId, null);
     }
 }
@@ -4,24 +4,38 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.net.URI;
+import java.util.Map;
+
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
+    private static final String ITEMS_PREFIX = "/items";
+    private static final String REQUESTS_PREFIX = "/requests";
+
+    private final ResponseCache responseCache;
+    private final String itemsPath;
+    private final String requestsPath;
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory, ResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                        .requestFactory(() -> requestFactory)
                         .build()
         );
+        this.responseCache = responseCache;
+        this.itemsPath = URI.create(serverUrl + ITEMS_PREFIX).getRawPath();
+        this.requestsPath = URI.create(serverUrl + REQUESTS_PREFIX).getRawPath();
     }
 
     public ResponseEntity<Object> createUser(UserDto userDto) {
@@ -32,8 +46,8 @@ public class UserClient extends BaseClient {
         return patch("/" + userId, userDto);
     }
 
-    public ResponseEntity<Object> getUsers() {
-        return get("");
+    public ResponseEntity<Object> getUsers(int from, int size) {
+        return get("?from={from}&size={size}", null, Map.of("from", from, "size", size));
     }
 
     public ResponseEntity<Object> getUserById(long userId) {
@@ -41,6 +55,9 @@ public class UserClient extends BaseClient {
     }
 
     public ResponseEntity<Object> deleteUser(long userId) {
-        return delete("/" + userId);
+        ResponseEntity<Object> response = delete("/" + userId);
+        responseCache.evict(itemsPath);
+        responseCache.evict(requestsPath);
+        return response;
     }
 }
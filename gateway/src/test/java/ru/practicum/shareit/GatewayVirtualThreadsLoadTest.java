@@ -0,0 +1,97 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        "server.tomcat.threads.max=8",
+        "server.tomcat.threads.min-spare=1"
+})
+public class GatewayVirtualThreadsLoadTest {
+    private static final int TOMCAT_THREADS = 8;
+    private static final int CONCURRENT_REQUESTS = TOMCAT_THREADS * 8;
+
+    private static final CountDownLatch ALL_IN_FLIGHT = new CountDownLatch(CONCURRENT_REQUESTS);
+    private static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+    private static final AtomicInteger MAX_IN_FLIGHT = new AtomicInteger();
+    private static ExecutorService stubExecutor;
+    private static HttpServer stubServer;
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void shareItServer(DynamicPropertyRegistry registry) throws IOException {
+        stubExecutor = Executors.newCachedThreadPool();
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), CONCURRENT_REQUESTS);
+        stubServer.setExecutor(stubExecutor);
+        stubServer.createContext("/users", exchange -> {
+            MAX_IN_FLIGHT.accumulateAndGet(IN_FLIGHT.incrementAndGet(), Math::max);
+            ALL_IN_FLIGHT.countDown();
+            try {
+                // Every call is held until all of them reach the stub at once, which is only
+                // possible if the gateway does not cap in-flight calls at its Tomcat thread count.
+                ALL_IN_FLIGHT.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            IN_FLIGHT.decrementAndGet();
+            byte[] body = "{\"id\":1,\"name\":\"User\",\"email\":\"user@mail.ru\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        stubServer.start();
+        registry.add("shareit-server.url", () -> "http://localhost:" + stubServer.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopStubServer() {
+        stubServer.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    @Test
+    void gatewayShouldKeepMoreCallsInFlightThanTomcatThreads() {
+        HttpClient httpClient = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users/1")).GET().build();
+
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+
+        responses.forEach(response -> assertEquals(200, response.join().statusCode()));
+        assertEquals(CONCURRENT_REQUESTS, MAX_IN_FLIGHT.get());
+        assertTrue(MAX_IN_FLIGHT.get() > TOMCAT_THREADS);
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.client.MockServerRestTemplateCustomizer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.test.web.client.MockRestServiceServer;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.client.ResponseCache;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class BookingClientTest {
+    private static final String SERVER_URL = "http://localhost:9090";
+    private static final URI ITEM = URI.create(SERVER_URL + "/items/5");
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private ResponseCache responseCache;
+    private BookingClient bookingClient;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        MockServerRestTemplateCustomizer customizer = new MockServerRestTemplateCustomizer();
+        responseCache = new ResponseCache(100, Duration.ofMinutes(1));
+        bookingClient = new BookingClient(SERVER_URL, new RestTemplateBuilder(customizer),
+                new SimpleClientHttpRequestFactory(), responseCache);
+        server = customizer.getServer();
+        responseCache.get(ITEM, 1L, this::load);
+    }
+
+    @Test
+    void createBookingShouldEvictCachedItems() {
+        server.expect(requestTo(SERVER_URL + "/bookings"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess());
+
+        bookingClient.createBooking(BookingDto.builder().build(), 2L);
+        responseCache.get(ITEM, 1L, this::load);
+
+        assertEquals(2, loads.get());
+        server.verify();
+    }
+
+    @Test
+    void updateBookingStatusShouldEvictCachedItems() {
+        server.expect(requestTo(SERVER_URL + "/bookings/3?approved=true"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess());
+
+        bookingClient.updateBookingStatus(1L, 3L, true);
+        responseCache.get(ITEM, 1L, this::load);
+
+        assertEquals(2, loads.get());
+        server.verify();
+    }
+
+    private ResponseEntity<Object> load() {
+        loads.incrementAndGet();
+        return ResponseEntity.ok().build();
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -12,12 +13,14 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDto;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -90,6 +93,32 @@ public class BookingControllerTest {
         verify(bookingClient, times(1)).updateBookingStatus(anyLong(), anyLong(), anyBoolean());
     }
 
+    @Test
+    void updateBookingStatusesShouldForwardBatch() throws Exception {
+        when(bookingClient.updateBookingStatuses(eq(1L), eq(List.of(1L, 2L)), eq(true)))
+                .thenReturn(ResponseEntity.ok(List.of(bookingDto)));
+
+        mockMvc.perform(patch("/bookings?approved=true")
+                        .header("X-Sharer-User-Id", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1,2]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(bookingDto.getId()));
+
+        verify(bookingClient, times(1)).updateBookingStatuses(eq(1L), eq(List.of(1L, 2L)), eq(true));
+    }
+
+    @Test
+    void updateBookingStatusesWithEmptyBatchShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(patch("/bookings?approved=true")
+                        .header("X-Sharer-User-Id", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingClient, never()).updateBookingStatuses(anyLong(), any(), anyBoolean());
+    }
+
     @Test
     void getBookingShouldReturnBooking() throws Exception {
         when(bookingClient.getBookingById(anyLong(), anyLong()))
@@ -105,7 +134,7 @@ public class BookingControllerTest {
 
     @Test
     void getUserBookingsShouldReturnBookingsList() throws Exception {
-        when(bookingClient.getUserBookings(anyLong(), anyString()))
+        when(bookingClient.getUserBookings(anyLong(), anyString(), eq(0), eq(10), isNull()))
                 .thenReturn(ResponseEntity.ok(List.of(bookingDto)));
 
         mockMvc.perform(get("/bookings")
@@ -114,12 +143,12 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$.size()").value(1))
                 .andExpect(jsonPath("$[0].id").value(bookingDto.getId()));
 
-        verify(bookingClient, times(1)).getUserBookings(anyLong(), anyString());
+        verify(bookingClient, times(1)).getUserBookings(anyLong(), anyString(), eq(0), eq(10), isNull());
     }
 
     @Test
     void getOwnerBookingsShouldReturnBookingsList() throws Exception {
-        when(bookingClient.getOwnerBookings(anyLong(), anyString()))
+        when(bookingClient.getOwnerBookings(anyLong(), anyString(), eq(0), eq(10), isNull()))
                 .thenReturn(ResponseEntity.ok(List.of(bookingDto)));
 
         mockMvc.perform(get("/bookings/owner")
@@ -128,6 +157,25 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$.size()").value(1))
                 .andExpect(jsonPath("$[0].id").value(bookingDto.getId()));
 
-        verify(bookingClient, times(1)).getOwnerBookings(anyLong(), anyString());
+        verify(bookingClient, times(1)).getOwnerBookings(anyLong(), anyString(), eq(0), eq(10), isNull());
+    }
+
+    @Test
+    void getOwnerBookingsShouldForwardNdjsonStream() throws Exception {
+        doAnswer(invocation -> {
+            HttpServletResponse response = invocation.getArgument(2);
+            response.setContentType("application/x-ndjson");
+            response.getOutputStream().write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(bookingClient).streamOwnerBookings(eq(1L), eq("ALL"), any());
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", "1")
+                        .accept("application/x-ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+
+        verify(bookingClient, never()).getOwnerBookings(anyLong(), anyString(), anyInt(), anyInt(), any());
     }
 }
+
@@ -0,0 +1,133 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class BaseClientTest {
+    private static final String ITEM_JSON = "{\"id\":1,\"name\":\"Дрель\",\"price\":12345678901234567890.5}";
+
+    private MockRestServiceServer server;
+    private BaseClient client;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:9090/items"));
+        server = MockRestServiceServer.bindTo(rest).build();
+        client = new BaseClient(rest);
+    }
+
+    @Test
+    void getShouldRelayServerBodyBytesAndContentType() {
+        server.expect(requestTo("http://localhost:9090/items/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "2"))
+                .andRespond(withSuccess(ITEM_JSON.getBytes(StandardCharsets.UTF_8), MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> response = client.get("/1", 2L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals(ITEM_JSON.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+        server.verify();
+    }
+
+    @Test
+    void getShouldRelayNextCursorHeader() {
+        server.expect(requestTo("http://localhost:9090/items/owner"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON)
+                        .header("X-Next-Cursor", "MjAyNC0wMS0wMVQxMDowMDo1")
+                        .header("X-Internal", "secret"));
+
+        ResponseEntity<Object> response = client.get("/owner", 2L);
+
+        assertEquals("MjAyNC0wMS0wMVQxMDowMDo1", response.getHeaders().getFirst("X-Next-Cursor"));
+        assertNull(response.getHeaders().getFirst("X-Internal"));
+    }
+
+    @Test
+    void errorResponseShouldKeepStatusBodyAndContentType() {
+        byte[] error = "{\"error\":\"Вещь не найдена\"}".getBytes(StandardCharsets.UTF_8);
+        server.expect(requestTo("http://localhost:9090/items/search?text=drill"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(error));
+
+        ResponseEntity<Object> response = client.get("/search?text={text}", null, Map.of("text", "drill"));
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals(error, (byte[]) response.getBody());
+    }
+
+    @Test
+    void cachedGetShouldHitServerAgainOnlyAfterEvict() {
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:9090/items"));
+        MockRestServiceServer cachedServer = MockRestServiceServer.bindTo(rest).build();
+        BaseClient cachedClient = new BaseClient(rest, new ResponseCache(100, Duration.ofMinutes(1)));
+        cachedServer.expect(ExpectedCount.twice(), requestTo("http://localhost:9090/items/1"))
+                .andRespond(withSuccess(ITEM_JSON.getBytes(StandardCharsets.UTF_8), MediaType.APPLICATION_JSON));
+
+        cachedClient.cachedGet("/1", null, null);
+        ResponseEntity<Object> cached = cachedClient.cachedGet("/1", null, null);
+        cachedClient.evict("/1");
+        cachedClient.cachedGet("/1", null, null);
+
+        assertArrayEquals(ITEM_JSON.getBytes(StandardCharsets.UTF_8), (byte[]) cached.getBody());
+        cachedServer.verify();
+    }
+
+    @Test
+    void getShouldForwardIfNoneMatchAndRelayNotModified() {
+        MockHttpServletRequest incoming = new MockHttpServletRequest("GET", "/items/1");
+        incoming.addHeader(HttpHeaders.IF_NONE_MATCH, "\"0abc\"");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(incoming));
+        try {
+            server.expect(requestTo("http://localhost:9090/items/1"))
+                    .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"0abc\""))
+                    .andRespond(withStatus(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, "\"0abc\""));
+
+            ResponseEntity<Object> response = client.get("/1");
+
+            assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+            assertEquals("\"0abc\"", response.getHeaders().getETag());
+            assertFalse(response.hasBody());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void emptyServerBodyShouldProduceEmptyResponse() {
+        server.expect(requestTo("http://localhost:9090/items/1"))
+                .andExpect(method(HttpMethod.DELETE))
+                .andRespond(withSuccess());
+
+        ResponseEntity<Object> response = client.delete("/1", 2L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertFalse(response.hasBody());
+    }
+}
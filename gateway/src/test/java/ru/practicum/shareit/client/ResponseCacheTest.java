@@ -0,0 +1,108 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ResponseCacheTest {
+    private static final URI ITEM = URI.create("http://localhost:9090/items/5");
+    private static final URI OTHER_ITEM = URI.create("http://localhost:9090/items/50");
+    private static final URI SEARCH = URI.create("http://localhost:9090/items/search?text=drill");
+
+    private ResponseCache responseCache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        responseCache = new ResponseCache(100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void getShouldLoadOncePerPathQueryAndUser() {
+        ResponseEntity<Object> first = responseCache.get(SEARCH, null, this::load);
+        ResponseEntity<Object> second = responseCache.get(SEARCH, null, this::load);
+        responseCache.get(URI.create("http://localhost:9090/items/search?text=saw"), null, this::load);
+        responseCache.get(SEARCH, 1L, this::load);
+
+        assertSame(first, second);
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void errorResponsesShouldNotBeCached() {
+        responseCache.get(ITEM, null, () -> {
+            loads.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        });
+        responseCache.get(ITEM, null, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evictShouldRemovePathAndSubPathsOnly() {
+        responseCache.get(ITEM, null, this::load);
+        responseCache.get(URI.create("http://localhost:9090/items/5/comments"), 1L, this::load);
+        responseCache.get(OTHER_ITEM, null, this::load);
+
+        responseCache.evict("/items/5");
+        responseCache.get(ITEM, null, this::load);
+        responseCache.get(URI.create("http://localhost:9090/items/5/comments"), 1L, this::load);
+        responseCache.get(OTHER_ITEM, null, this::load);
+
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void evictDuringLoadShouldDiscardLoadedResponse() {
+        responseCache.get(ITEM, null, () -> {
+            ResponseEntity<Object> stale = load();
+            responseCache.evict("/items");
+            return stale;
+        });
+        responseCache.get(ITEM, null, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evictOfOtherPathDuringLoadShouldKeepLoadedResponse() {
+        responseCache.get(ITEM, null, () -> {
+            ResponseEntity<Object> response = load();
+            responseCache.evict("/requests");
+            return response;
+        });
+        responseCache.get(ITEM, null, this::load);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void bindToShouldExportHitRatio() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        responseCache.bindTo(registry);
+
+        responseCache.get(ITEM, null, this::load);
+        responseCache.get(ITEM, null, this::load);
+        responseCache.get(ITEM, null, this::load);
+        responseCache.get(ITEM, null, this::load);
+
+        assertEquals(0.75, registry.get("cache.hit.ratio").tag("cache", ResponseCache.CACHE_NAME).gauge().value());
+        assertEquals(3, registry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    private ResponseEntity<Object> load() {
+        loads.incrementAndGet();
+        return ResponseEntity.ok(new byte[0]);
+    }
+}
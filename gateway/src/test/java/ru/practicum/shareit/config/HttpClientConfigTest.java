@@ -0,0 +1,89 @@
+package ru.practicum.shareit.config;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class HttpClientConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+                        .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+.withUserConfiguration(HttpClientConfig.class)
+            .withPropertyValues(
+                    "shareit-server.http.max-total=40",
+                    "shareit-server.http.max-per-route=20",
+                    "shareit-server.http.read-timeout=5s");
+
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/ping", exchange -> {
+            byte[] body = "pong".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void connectionManagerShouldApplyConfiguredLimits() {
+        contextRunner.run(context -> {
+            PoolingHttpClientConnectionManager manager = context.getBean(PoolingHttpClientConnectionManager.class);
+
+            assertEquals(40, manager.getMaxTotal());
+            assertEquals(20, manager.getDefaultMaxPerRoute());
+        });
+    }
+
+    @Test
+    void pooledConnectionShouldBeReusedAndExportedAsMetrics() {
+        contextRunner.run(context -> {
+            ClientHttpRequestFactory requestFactory = context.getBean(ClientHttpRequestFactory.class);
+            MeterRegistry registry = new SimpleMeterRegistry();
+            context.getBean(MeterBinder.class).bindTo(registry);
+            URI uri = URI.create("http://localhost:" + server.getAddress().getPort() + "/ping");
+
+            for (int i = 0; i < 3; i++) {
+                try (ClientHttpResponse response = requestFactory.createRequest(uri, HttpMethod.GET).execute()) {
+                    assertEquals("pong", new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8));
+                }
+            }
+
+            assertEquals(40, gauge(registry, "httpcomponents.httpclient.pool.total.max"));
+            assertEquals(0, gauge(registry, "httpcomponents.httpclient.pool.total.connections", "state", "leased"));
+            assertEquals(1, gauge(registry, "httpcomponents.httpclient.pool.total.connections", "state", "available"));
+        });
+    }
+
+    private double gauge(MeterRegistry registry, String name, String... tags) {
+        return registry.get(name)
+                .tag("httpclient", HttpClientConfig.POOL_NAME)
+                .tags(tags)
+                .gauge()
+                .value();
+    }
+}
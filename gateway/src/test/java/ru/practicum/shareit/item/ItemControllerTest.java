@@ -6,6 +6,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -13,18 +15,24 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ItemController.class)
 @AutoConfigureMockMvc
+@Import(ItemImporter.class)
 public class ItemControllerTest {
 
     @MockBean
@@ -65,6 +73,65 @@ public class ItemControllerTest {
         verify(itemClient, times(1)).createItem(any(), anyLong());
     }
 
+    @Test
+    void createItemsShouldForwardBatch() throws Exception {
+        when(itemClient.createItems(any(), eq(1L)))
+                .thenReturn(ResponseEntity.status(HttpStatus.CREATED).body(List.of(itemDto)));
+
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(itemDto))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].id").value(itemDto.getId()));
+
+        verify(itemClient, times(1)).createItems(any(), eq(1L));
+    }
+
+    @Test
+    void createItemsWithEmptyBatchShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).createItems(any(), anyLong());
+    }
+
+    @Test
+    void importItemsShouldStreamPerRowResultsForCsv() throws Exception {
+        when(itemClient.createItems(any(), eq(1L)))
+                .thenReturn(ResponseEntity.status(HttpStatus.CREATED).body("[{\"id\":10}]".getBytes(StandardCharsets.UTF_8)));
+
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", "1")
+                        .contentType("text/csv;charset=UTF-8")
+                        .accept("application/x-ndjson")
+                        .content("name,description,available\nДрель,\"Ударная, 800 Вт\",true\n,Без имени,true\n"
+                                .getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().bytes((
+                        "{\"line\":3,\"error\":\"Поле 'name' обязательно для заполнения\"}\n"
+                                + "{\"line\":2,\"id\":10}\n").getBytes(StandardCharsets.UTF_8)));
+
+        verify(itemClient, times(1)).createItems(argThat(items -> items.size() == 1
+                && items.get(0).getDescription().equals("Ударная, 800 Вт")), eq(1L));
+    }
+
+    @Test
+    void importItemsWithoutCsvHeaderShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", "1")
+                        .contentType("text/csv")
+                        .accept("application/x-ndjson", "application/json")
+                        .content("Дрель,Ударная,true\n".getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).createItems(any(), anyLong());
+    }
+
     @Test
     void updateItemShouldReturnUpdatedItem() throws Exception {
         when(itemClient.updateItem(any(), anyLong(), anyLong())).thenReturn(ResponseEntity.ok(itemDto));
@@ -98,9 +165,22 @@ public class ItemControllerTest {
         verify(itemClient, times(1)).getItemById(anyLong());
     }
 
+    @Test
+    void getItemByIdWithMatchingIfNoneMatchShouldReturnNotModified() throws Exception {
+        when(itemClient.getItemById(1L)).thenReturn(ResponseEntity.ok()
+                .eTag("\"0abc\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{\"id\":1}".getBytes(StandardCharsets.UTF_8)));
+
+        mockMvc.perform(get("/items/1").header(HttpHeaders.IF_NONE_MATCH, "\"0abc\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0abc\""))
+                .andExpect(content().string(""));
+    }
+
     @Test
     void getItemsShouldReturnListOfItems() throws Exception {
-        when(itemClient.getItems(anyLong())).thenReturn(ResponseEntity.ok(List.of(itemDto)));
+        when(itemClient.getItems(anyLong(), eq(0), eq(10))).thenReturn(ResponseEntity.ok(List.of(itemDto)));
 
         mockMvc.perform(get("/items").header("X-Sharer-User-Id", "1"))
                 .andExpect(status().isOk())
@@ -110,7 +190,7 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$[0].description").value(itemDto.getDescription()))
                 .andExpect(jsonPath("$[0].available").value(itemDto.getAvailable()));
 
-        verify(itemClient, times(1)).getItems(anyLong());
+        verify(itemClient, times(1)).getItems(anyLong(), eq(0), eq(10));
     }
 
     @Test
@@ -0,0 +1,129 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ItemImporterTest {
+    private ItemClient itemClient;
+    private ItemImporter itemImporter;
+    private final List<ItemImportResult> results = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        itemClient = mock(ItemClient.class);
+        itemImporter = new ItemImporter(itemClient, Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @Test
+    void importNdjsonShouldSendRowsInChunks() throws Exception {
+        AtomicLong ids = new AtomicLong();
+        when(itemClient.createItems(any(), eq(1L))).thenAnswer(invocation -> {
+            List<ItemDto> items = invocation.getArgument(0);
+            return ResponseEntity.status(HttpStatus.CREATED).body(new ObjectMapper().writeValueAsBytes(items.stream()
+                    .map(item -> Map.of("id", ids.incrementAndGet()))
+                    .toList()));
+        });
+        int rows = ItemImporter.CHUNK_SIZE * 2 + 1;
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            body.append("{\"name\":\"Item ").append(i).append("\",\"description\":\"d\",\"available\":true}\n");
+        }
+
+        itemImporter.importNdjson(1L, reader(body.toString()), results::add);
+
+        verify(itemClient, times(3)).createItems(any(), eq(1L));
+        assertEquals(rows, results.size());
+        assertTrue(results.stream().allMatch(result -> result.getError() == null));
+        assertEquals(rows, results.get(rows - 1).getLine());
+        assertEquals(rows, results.get(rows - 1).getId());
+    }
+
+    @Test
+    void importNdjsonShouldReportMalformedAndInvalidRows() throws Exception {
+        itemImporter.importNdjson(1L, reader("{\"name\":\n\n{\"name\":\"Дрель\",\"available\":true}\n"), results::add);
+
+        assertEquals(2, results.size());
+        assertEquals(1, results.get(0).getLine());
+        assertTrue(results.get(0).getError().startsWith("Некорректный JSON"));
+        assertEquals(3, results.get(1).getLine());
+        assertEquals("Поле 'description' обязательно для заполнения", results.get(1).getError());
+        verify(itemClient, never()).createItems(any(), anyLong());
+    }
+
+    @Test
+    void importCsvShouldRetryRowsOneByOneWhenChunkIsRejected() throws Exception {
+        when(itemClient.createItems(any(), eq(1L))).thenReturn(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body("{\"error\":\"Запрос не найден\"}".getBytes(StandardCharsets.UTF_8)));
+        when(itemClient.createItem(argThat(item -> item != null && item.getRequestId() == null), eq(1L)))
+                .thenReturn(ResponseEntity.status(HttpStatus.CREATED)
+                        .body("{\"id\":10}".getBytes(StandardCharsets.UTF_8)));
+        when(itemClient.createItem(argThat(item -> item != null && item.getRequestId() != null), eq(1L)))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body("{\"error\":\"Запрос не найден\"}".getBytes(StandardCharsets.UTF_8)));
+
+        itemImporter.importCsv(1L, reader("name,description,available,requestId\nДрель,Ударная,true,7\n"
+                + "Пила,Цепная,TRUE,\nЛестница,Складная,yes,\n"), results::add);
+
+        assertEquals(List.of(
+                ItemImportResult.failed(4, "Поле 'available' должно быть true или false"),
+                ItemImportResult.failed(2, "Запрос не найден"),
+                ItemImportResult.imported(3, 10L)), results);
+    }
+
+    @Test
+    void importCsvShouldReportServerErrorForSingleRowChunk() throws Exception {
+        when(itemClient.createItems(any(), eq(1L))).thenReturn(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body("{\"error\":\"Запрос не найден\"}".getBytes(StandardCharsets.UTF_8)));
+
+        itemImporter.importCsv(1L, reader("name,description,available,requestId\nДрель,Ударная,true,7\n"),
+                results::add);
+
+        assertEquals(List.of(ItemImportResult.failed(2, "Запрос не найден")), results);
+        verify(itemClient, never()).createItem(any(), anyLong());
+    }
+
+    @Test
+    void importNdjsonShouldReportRowsMissingFromShortResponse() throws Exception {
+        when(itemClient.createItems(any(), eq(1L))).thenReturn(ResponseEntity.status(HttpStatus.CREATED)
+                .body("[{\"id\":5}]".getBytes(StandardCharsets.UTF_8)));
+
+        itemImporter.importNdjson(1L, reader("{\"name\":\"a\",\"description\":\"d\",\"available\":true}\n"
+                + "{\"name\":\"b\",\"description\":\"d\",\"available\":true}\n"), results::add);
+
+        assertEquals(List.of(
+                ItemImportResult.imported(1, 5L),
+                ItemImportResult.failed(2, "Сервер не вернул идентификатор созданной вещи")), results);
+    }
+
+    @Test
+    void parseCsvLineShouldHandleQuotes() {
+        assertEquals(List.of("a", "b, c", "say \"hi\"", ""), ItemImporter.parseCsvLine("a,\"b, c\",\"say \"\"hi\"\"\","));
+        assertThrows(IllegalArgumentException.class, () -> ItemImporter.parseCsvLine("\"open"));
+    }
+
+    private static BufferedReader reader(String body) {
+        return new BufferedReader(new StringReader(body));
+    }
+}
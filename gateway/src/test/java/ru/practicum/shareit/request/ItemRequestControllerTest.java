@@ -71,7 +71,7 @@ public class ItemRequestControllerTest {
 
     @Test
     void getAllRequestsShouldReturnListOfRequests() throws Exception {
-        when(itemRequestClient.getAllRequests(anyLong())).thenReturn(ResponseEntity.ok(List.of(requestDto)));
+        when(itemRequestClient.getAllRequests(anyLong(), eq(0), eq(10))).thenReturn(ResponseEntity.ok(List.of(requestDto)));
 
         mockMvc.perform(get("/requests/all")
                         .header("X-Sharer-User-Id", "1"))
@@ -80,7 +80,7 @@ public class ItemRequestControllerTest {
                 .andExpect(jsonPath("$[0].id").value(requestDto.getId()))
                 .andExpect(jsonPath("$[0].description").value(requestDto.getDescription()));
 
-        verify(itemRequestClient, times(1)).getAllRequests(anyLong());
+        verify(itemRequestClient, times(1)).getAllRequests(anyLong(), eq(0), eq(10));
     }
 
     @Test
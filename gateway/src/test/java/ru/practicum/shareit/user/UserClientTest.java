@@ -0,0 +1,53 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.client.MockServerRestTemplateCustomizer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.test.web.client.MockRestServiceServer;
+import ru.practicum.shareit.client.ResponseCache;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class UserClientTest {
+    private static final String SERVER_URL = "http://localhost:9090";
+
+    @Test
+    void deleteUserShouldEvictCachedItemsAndRequests() {
+        MockServerRestTemplateCustomizer customizer = new MockServerRestTemplateCustomizer();
+        ResponseCache responseCache = new ResponseCache(100, Duration.ofMinutes(1));
+        UserClient userClient = new UserClient(SERVER_URL, new RestTemplateBuilder(customizer),
+                new SimpleClientHttpRequestFactory(), responseCache);
+        MockRestServiceServer server = customizer.getServer();
+        server.expect(requestTo(SERVER_URL + "/users/1"))
+                .andExpect(method(HttpMethod.DELETE))
+                .andRespond(withSuccess());
+
+        AtomicInteger loads = new AtomicInteger();
+        URI item = URI.create(SERVER_URL + "/items/5");
+        URI requests = URI.create(SERVER_URL + "/requests/all?from=0&size=10");
+        responseCache.get(item, null, () -> load(loads));
+        responseCache.get(requests, 2L, () -> load(loads));
+
+        userClient.deleteUser(1);
+        responseCache.get(item, null, () -> load(loads));
+        responseCache.get(requests, 2L, () -> load(loads));
+
+        assertEquals(4, loads.get());
+        server.verify();
+    }
+
+    private static ResponseEntity<Object> load(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return ResponseEntity.ok().build();
+    }
+}
@@ -71,7 +71,7 @@ public class UserControllerTest {
 
     @Test
     void getUsersShouldReturnListOfUsers() throws Exception {
-        when(userClient.getUsers()).thenReturn(ResponseEntity.ok(List.of(userDto)));
+        when(userClient.getUsers(0, 10)).thenReturn(ResponseEntity.ok(List.of(userDto)));
 
         mockMvc.perform(get("/users"))
                 .andExpect(status().isOk())
@@ -80,7 +80,7 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$[0].name").value(userDto.getName()))
                 .andExpect(jsonPath("$[0].email").value(userDto.getEmail()));
 
-        verify(userClient, times(1)).getUsers();
+        verify(userClient, times(1)).getUsers(0, 10);
     }
 
     @Test
@@ -1,17 +1,27 @@
 package ru.practicum.shareit.booking.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.service.BookingService;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 public class BookingController {
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public BookingDto createBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
@@ -19,6 +29,12 @@ public class BookingController {
         return bookingService.createBooking(bookingDto, userId);
     }
 
+    @PostMapping("/batch")
+    public List<BookingDto> createBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                           @RequestBody List<BookingDto> bookingDtos) {
+        return bookingService.createBookings(bookingDtos, userId);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto updateBookingStatus(@RequestHeader("X-Sharer-User-Id") Long userId,
                                           @PathVariable Long bookingId,
@@ -26,6 +42,13 @@ public class BookingController {
         return bookingService.updateBookingStatus(userId, bookingId, approved);
     }
 
+    @PatchMapping
+    public List<BookingDto> updateBookingStatuses(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                  @RequestParam Boolean approved,
+                                                  @RequestBody List<Long> bookingIds) {
+        return bookingService.updateBookingStatuses(userId, bookingIds, approved);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto getBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
                                  @PathVariable Long bookingId) {
@@ -33,14 +56,49 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDto> getUserBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                            @RequestParam(defaultValue = "ALL") String state) {
-        return bookingService.getUserBookings(userId, state);
+    public ResponseEntity<List<BookingDto>> getUserBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                            @RequestParam(defaultValue = "ALL") String state,
+                                                            @RequestParam(defaultValue = "0") int from,
+                                                            @RequestParam(defaultValue = "10") int size,
+                                                            @RequestParam(required = false) String cursor) {
+        return withNextCursor(bookingService.getUserBookings(userId, state, from, size, cursor), size);
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @RequestParam(defaultValue = "ALL") String state) {
-        return bookingService.getOwnerBookings(userId, state);
+    public ResponseEntity<List<BookingDto>> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                             @RequestParam(defaultValue = "ALL") String state,
+                                                             @RequestParam(defaultValue = "0") int from,
+                                                             @RequestParam(defaultValue = "10") int size,
+                                                             @RequestParam(required = false) String cursor) {
+        return withNextCursor(bookingService.getOwnerBookings(userId, state, from, size, cursor), size);
+    }
+
+    @GetMapping(path = "/owner", produces = APPLICATION_NDJSON)
+    public void streamOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                    @RequestParam(defaultValue = "ALL") String state,
+                                    HttpServletResponse response) throws IOException {
+        OutputStream out = response.getOutputStream();
+        bookingService.streamOwnerBookings(userId, state, booking -> {
+            try {
+                if (response.getContentType() == null) {
+                    response.setContentType(APPLICATION_NDJSON);
+                }
+                out.write(objectMapper.writeValueAsBytes(booking));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        response.setContentType(APPLICATION_NDJSON);
+        out.flush();
+    }
+
+    private static ResponseEntity<List<BookingDto>> withNextCursor(List<BookingDto> bookings, int size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        String nextCursor = BookingCursor.nextCursor(bookings, size);
+        if (nextCursor != null) {
+            response.header(BookingCursor.HEADER, nextCursor);
+        }
+        return response.body(bookings);
     }
 }
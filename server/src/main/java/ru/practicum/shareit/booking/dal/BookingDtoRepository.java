@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.dal;
+
+import org.springframework.data.domain.ScrollPosition;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.State;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BookingDtoRepository {
+    List<BookingDto> findBookerBookingDtos(long bookerId, State state, LocalDateTime now,
+                                           ScrollPosition position, int limit);
+
+    List<BookingDto> findOwnerBookingDtos(long ownerId, State state, LocalDateTime now,
+                                          ScrollPosition position, int limit);
+
+    Stream<BookingDto> streamOwnerBookingDtos(long ownerId, State state, LocalDateTime now);
+}
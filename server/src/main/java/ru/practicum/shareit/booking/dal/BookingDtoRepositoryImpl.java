@@ -0,0 +1,118 @@
+package ru.practicum.shareit.booking.dal;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.OffsetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class BookingDtoRepositoryImpl implements BookingDtoRepository {
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<BookingDto> findBookerBookingDtos(long bookerId, State state, LocalDateTime now,
+                                                  ScrollPosition position, int limit) {
+        return findBookingDtos((booker, item, cb) -> cb.equal(booker.get("id"), bookerId),
+                state, now, position, limit);
+    }
+
+    @Override
+    public List<BookingDto> findOwnerBookingDtos(long ownerId, State state, LocalDateTime now,
+                                                 ScrollPosition position, int limit) {
+        return findBookingDtos((booker, item, cb) -> cb.equal(item.get("owner"), ownerId),
+                state, now, position, limit);
+    }
+
+    @Override
+    public Stream<BookingDto> streamOwnerBookingDtos(long ownerId, State state, LocalDateTime now) {
+        return createBookingDtoQuery((booker, item, cb) -> cb.equal(item.get("owner"), ownerId),
+                state, now, ScrollPosition.offset())
+                .setHint(AvailableHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    private List<BookingDto> findBookingDtos(ParticipantFilter participant, State state, LocalDateTime now,
+                                             ScrollPosition position, int limit) {
+        TypedQuery<BookingDto> typedQuery = createBookingDtoQuery(participant, state, now, position)
+                .setMaxResults(limit);
+        if (position instanceof OffsetScrollPosition offset && !offset.isInitial()) {
+            typedQuery.setFirstResult(Math.toIntExact(offset.getOffset() + 1));
+        }
+        return typedQuery.getResultList();
+    }
+
+    private TypedQuery<BookingDto> createBookingDtoQuery(ParticipantFilter participant, State state,
+                                                         LocalDateTime now, ScrollPosition position) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingDto> query = cb.createQuery(BookingDto.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, Item> item = booking.join("item");
+        Join<Booking, User> booker = booking.join("booker");
+
+        query.select(cb.construct(BookingDto.class,
+                booking.get("id"), booking.get("start"), booking.get("end"), booking.get("status"),
+                booker.get("id"), booker.get("name"), booker.get("email"),
+                item.get("id"), item.get("name"), item.get("description"), item.get("available")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(participant.toPredicate(booker, item, cb));
+        predicates.addAll(statePredicates(booking, cb, state, now));
+        if (position instanceof KeysetScrollPosition keyset && !keyset.isInitial()) {
+            predicates.add(after(booking, cb, keyset.getKeys()));
+        }
+
+        query.where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(booking.get("start")), cb.desc(booking.get("id")));
+
+        return entityManager.createQuery(query);
+    }
+
+    private static List<Predicate> statePredicates(Root<Booking> booking, CriteriaBuilder cb,
+                                                   State state, LocalDateTime now) {
+        switch (state) {
+            case CURRENT:
+                return List.of(cb.lessThan(booking.get("start"), now), cb.greaterThan(booking.get("end"), now));
+            case PAST:
+                return List.of(cb.lessThan(booking.get("end"), now));
+            case FUTURE:
+                return List.of(cb.greaterThan(booking.get("start"), now));
+            case WAITING:
+                return List.of(cb.equal(booking.get("status"), Status.WAITING));
+            case REJECTED:
+                return List.of(cb.equal(booking.get("status"), Status.REJECTED));
+            default:
+                return List.of();
+        }
+    }
+
+    private static Predicate after(Root<Booking> booking, CriteriaBuilder cb, Map<String, ?> keys) {
+        LocalDateTime start = (LocalDateTime) keys.get("start");
+        Long id = (Long) keys.get("id");
+        return cb.or(
+                cb.lessThan(booking.get("start"), start),
+                cb.and(cb.equal(booking.get("start"), start), cb.lessThan(booking.get("id"), id)));
+    }
+
+    @FunctionalInterface
+    private interface ParticipantFilter {
+        Predicate toPredicate(Join<Booking, User> booker, Join<Booking, Item> item, CriteriaBuilder cb);
+    }
+}
@@ -1,46 +1,55 @@
 package ru.practicum.shareit.booking.dal;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.dto.ItemBookingDate;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
-import ru.practicum.shareit.item.model.Item;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByBookerIdOrderByStartDesc(Long bookerId);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingDtoRepository {
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findByIdIn(Collection<Long> ids);
 
-    List<Booking> findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long bookerId, LocalDateTime start, LocalDateTime end);
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :status WHERE b.id IN :ids AND b.status = :expected")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("expected") Status expected,
+                     @Param("status") Status status);
 
-    List<Booking> findByBookerIdAndEndBeforeOrderByStartDesc(Long bookerId, LocalDateTime end);
+    @Query("SELECT b.id AS id, b.start AS start, b.end AS end FROM Booking b " +
+            "WHERE b.item.id = :itemId AND b.status IN :statuses")
+    List<BookingInterval> findIntervals(@Param("itemId") Long itemId,
+                                        @Param("statuses") Collection<Status> statuses);
 
-    List<Booking> findByBookerIdAndStartAfterOrderByStartDesc(Long bookerId, LocalDateTime start);
+    boolean existsByItemIdAndStatusInAndStartBeforeAndEndAfter(Long itemId, Collection<Status> statuses,
+                                                               LocalDateTime end, LocalDateTime start);
 
-    List<Booking> findByBookerIdAndStatusOrderByStartDesc(Long bookerId, Status status);
-
-    List<Booking> findByItemOwnerOrderByStartDesc(Long ownerId);
-
-    List<Booking> findByItemOwnerAndStartBeforeAndEndAfterOrderByStartDesc(Long ownerId, LocalDateTime start, LocalDateTime end);
-
-    List<Booking> findByItemOwnerAndEndBeforeOrderByStartDesc(Long ownerId, LocalDateTime end);
-
-    List<Booking> findByItemOwnerAndStartAfterOrderByStartDesc(Long ownerId, LocalDateTime start);
-
-    List<Booking> findByItemOwnerAndStatusOrderByStartDesc(Long ownerId, Status status);
+    @Query("SELECT DISTINCT b.item.id FROM Booking b WHERE b.booker.id = :userId OR b.item.owner = :userId")
+    List<Long> findItemIdsByBookerOrOwner(@Param("userId") Long userId);
 
     boolean existsByItemIdAndBookerIdAndStatusAndEndBefore(Long itemId, Long bookerId, Status status, LocalDateTime end);
 
+    @Query("SELECT b.item.id AS itemId, MAX(b.end) AS date FROM Booking b " +
+            "WHERE b.item.id IN :itemIds AND b.end < :now GROUP BY b.item.id")
+    List<ItemBookingDate> findLastBookingEnds(@Param("itemIds") Collection<Long> itemIds,
+                                              @Param("now") LocalDateTime now);
 
-    @Query("SELECT b FROM Booking b WHERE b.item IN :items AND b.end < CURRENT_TIMESTAMP " +
-            "ORDER BY b.end DESC")
-    List<Booking> findLastBookings(@Param("items") List<Item> items);
+    @Query("SELECT b.item.id AS itemId, MIN(b.start) AS date FROM Booking b " +
+            "WHERE b.item.id IN :itemIds AND b.start > :now GROUP BY b.item.id")
+    List<ItemBookingDate> findNextBookingStarts(@Param("itemIds") Collection<Long> itemIds,
+                                                @Param("now") LocalDateTime now);
 
-    @Query("SELECT b FROM Booking b WHERE b.item IN :items AND b.start > CURRENT_TIMESTAMP " +
-            "ORDER BY b.start ASC")
-    List<Booking> findNextBookings(@Param("items") List<Item> items);
+    @Query("SELECT b.item.id AS itemId, MIN(b.end) AS date FROM Booking b " +
+            "WHERE b.item.id IN :itemIds AND b.end >= :now GROUP BY b.item.id")
+    List<ItemBookingDate> findNextBookingEnds(@Param("itemIds") Collection<Long> itemIds,
+                                              @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.ScrollPosition;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BookingCursor {
+    public static final String HEADER = "X-Next-Cursor";
+
+    private static final String SEPARATOR = "|";
+
+    public static String encode(BookingDto booking) {
+        String value = booking.getStart() + SEPARATOR + booking.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String nextCursor(List<BookingDto> bookings, int size) {
+        if (bookings.isEmpty() || bookings.size() < size) {
+            return null;
+        }
+        return encode(bookings.get(bookings.size() - 1));
+    }
+
+    public static ScrollPosition toScrollPosition(String cursor, int from) {
+        if (cursor == null || cursor.isBlank()) {
+            return from == 0 ? ScrollPosition.offset() : ScrollPosition.offset(from - 1);
+        }
+
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            LocalDateTime start = LocalDateTime.parse(value.substring(0, separator));
+            Long id = Long.valueOf(value.substring(separator + 1));
+            return ScrollPosition.forward(Map.of("start", start, "id", id));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ValidationException("Некорректный курсор: " + cursor);
+        }
+    }
+}
@@ -22,4 +22,15 @@ public class BookingDto {
     private UserDto booker;
     private Long itemId;
     private ItemDto item;
+
+    public BookingDto(Long id, LocalDateTime start, LocalDateTime end, Status status,
+                      Long bookerId, String bookerName, String bookerEmail,
+                      Long itemId, String itemName, String itemDescription, Boolean itemAvailable) {
+        this.id = id;
+        this.start = start;
+        this.end = end;
+        this.status = status;
+        this.booker = new UserDto(bookerId, bookerName, bookerEmail);
+        this.item = new ItemDto(itemId, itemName, itemDescription, itemAvailable);
+    }
 }
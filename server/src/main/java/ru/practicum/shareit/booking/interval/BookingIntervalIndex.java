@@ -0,0 +1,126 @@
+package ru.practicum.shareit.booking.interval;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dal.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+@Component
+public class BookingIntervalIndex {
+    public static final Set<Status> ACTIVE_STATUSES = EnumSet.of(Status.WAITING, Status.APPROVED);
+
+    private final BookingRepository bookingRepository;
+    private final BookingOverlapConstraint overlapConstraint;
+    private final Cache<Long, ItemIntervals> cache;
+    private final ConcurrentMap<Long, ItemIntervals> intervals;
+
+    public BookingIntervalIndex(BookingRepository bookingRepository, BookingOverlapConstraint overlapConstraint,
+                                @Value("${shareit.booking.interval-index.max-items:10000}") long maxItems) {
+        this.bookingRepository = bookingRepository;
+        this.overlapConstraint = overlapConstraint;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxItems)
+                .build();
+        this.intervals = cache.asMap();
+    }
+
+    public boolean overlaps(long itemId, LocalDateTime start, LocalDateTime end) {
+        boolean cached = cache.get(itemId, this::load).overlaps(toMicros(start), toMicros(end));
+        if (!cached && overlapConstraint.isEnforced()) {
+            return false;
+        }
+        boolean stored = bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(
+                itemId, ACTIVE_STATUSES, end, start);
+        if (stored != cached) {
+            cache.invalidate(itemId);
+        }
+        return stored;
+    }
+
+    public void preload(Collection<Long> itemIds) {
+        cache.getAll(itemIds, ids -> {
+            Map<Long, ItemIntervals> loaded = new HashMap<>();
+            ids.forEach(itemId -> loaded.put(itemId, load(itemId)));
+            return loaded;
+        });
+    }
+
+    public void evict(Collection<Long> itemIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.invalidateAll(itemIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                cache.invalidateAll(itemIds);
+            }
+        });
+    }
+
+    public void add(Booking booking) {
+        if (!ACTIVE_STATUSES.contains(booking.getStatus())) {
+            return;
+        }
+        long itemId = booking.getItem().getId();
+        intervals.computeIfPresent(itemId, (id, current) ->
+                current.with(booking.getId(), toMicros(booking.getStart()), toMicros(booking.getEnd())));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        intervals.computeIfPresent(itemId, (id, current) -> current.without(booking.getId()));
+                    }
+                }
+            });
+        }
+    }
+
+    public void remove(Booking booking) {
+        long itemId = booking.getItem().getId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            intervals.computeIfPresent(itemId, (id, current) -> current.without(booking.getId()));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                intervals.computeIfPresent(itemId, (id, current) -> current.without(booking.getId()));
+            }
+        });
+    }
+
+    private ItemIntervals load(long itemId) {
+        List<BookingInterval> bookings = bookingRepository.findIntervals(itemId, ACTIVE_STATUSES);
+        long[] ids = new long[bookings.size()];
+        long[] starts = new long[bookings.size()];
+        long[] ends = new long[bookings.size()];
+        for (int i = 0; i < bookings.size(); i++) {
+            ids[i] = bookings.get(i).getId();
+            starts[i] = toMicros(bookings.get(i).getStart());
+            ends[i] = toMicros(bookings.get(i).getEnd());
+        }
+        return ItemIntervals.of(ids, starts, ends);
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateTime.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.booking.interval;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingOverlapConstraint {
+    static final String NAME = "ex_bookings_item_period";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean enforced;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void detect() {
+        enforced = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                return false;
+            }
+            try (PreparedStatement statement =
+                         connection.prepareStatement("SELECT 1 FROM pg_constraint WHERE conname = ?")) {
+                statement.setString(1, NAME);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return resultSet.next();
+                }
+            }
+        }));
+        if (!enforced) {
+            log.warn("Ограничение {} отсутствует, пересечения бронирований проверяются запросом к базе", NAME);
+        }
+    }
+
+    public boolean isEnforced() {
+        return enforced;
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.booking.interval;
+
+import java.util.Arrays;
+
+final class ItemIntervals {
+    private final long[] ids;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] sortedEnds;
+
+    private ItemIntervals(long[] ids, long[] starts, long[] ends, long[] sortedEnds) {
+        this.ids = ids;
+        this.starts = starts;
+        this.ends = ends;
+        this.sortedEnds = sortedEnds;
+    }
+
+    static ItemIntervals of(long[] ids, long[] starts, long[] ends) {
+        Integer[] order = new Integer[ids.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(starts[a], starts[b]));
+
+        long[] sortedIds = new long[ids.length];
+        long[] sortedStarts = new long[ids.length];
+        long[] endsByStart = new long[ids.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedIds[i] = ids[order[i]];
+            sortedStarts[i] = starts[order[i]];
+            endsByStart[i] = ends[order[i]];
+        }
+        long[] sortedEnds = ends.clone();
+        Arrays.sort(sortedEnds);
+        return new ItemIntervals(sortedIds, sortedStarts, endsByStart, sortedEnds);
+    }
+
+    boolean overlaps(long start, long end) {
+        return lowerBound(starts, end) - upperBound(sortedEnds, start) > 0;
+    }
+
+    ItemIntervals with(long id, long start, long end) {
+        ItemIntervals intervals = indexOf(id) < 0 ? this : without(id);
+        int at = upperBound(intervals.starts, start);
+        return new ItemIntervals(
+                insert(intervals.ids, at, id),
+                insert(intervals.starts, at, start),
+                insert(intervals.ends, at, end),
+                insert(intervals.sortedEnds, upperBound(intervals.sortedEnds, end), end));
+    }
+
+    ItemIntervals without(long id) {
+        int at = indexOf(id);
+        if (at < 0) {
+            return this;
+        }
+        return new ItemIntervals(
+                remove(ids, at),
+                remove(starts, at),
+                remove(ends, at),
+                remove(sortedEnds, lowerBound(sortedEnds, ends[at])));
+    }
+
+    private int indexOf(long id) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int lowerBound(long[] values, long key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int upperBound(long[] values, long key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long[] insert(long[] values, int at, long value) {
+        long[] result = Arrays.copyOf(values, values.length + 1);
+        System.arraycopy(values, at, result, at + 1, values.length - at);
+        result[at] = value;
+        return result;
+    }
+
+    private static long[] remove(long[] values, int at) {
+        long[] result = Arrays.copyOf(values, values.length - 1);
+        System.arraycopy(values, at + 1, result, at, values.length - at - 1);
+        return result;
+    }
+}
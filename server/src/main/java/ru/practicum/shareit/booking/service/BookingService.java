@@ -3,15 +3,22 @@ package ru.practicum.shareit.booking.service;
 import ru.practicum.shareit.booking.dto.BookingDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
     BookingDto createBooking(BookingDto bookingDto, Long userId);
 
+    List<BookingDto> createBookings(List<BookingDto> bookingDtos, Long userId);
+
     BookingDto updateBookingStatus(Long userId, Long bookingId, Boolean approved);
 
+    List<BookingDto> updateBookingStatuses(Long userId, List<Long> bookingIds, Boolean approved);
+
     BookingDto getBookingById(Long userId, Long bookingId);
 
-    List<BookingDto> getUserBookings(Long userId, String state);
+    List<BookingDto> getUserBookings(Long userId, String state, int from, int size, String cursor);
+
+    List<BookingDto> getOwnerBookings(Long ownerId, String state, int from, int size, String cursor);
 
-    List<BookingDto> getOwnerBookings(Long ownerId, String state);
+    void streamOwnerBookings(Long ownerId, String state, Consumer<BookingDto> consumer);
 }
\ No newline at end of file
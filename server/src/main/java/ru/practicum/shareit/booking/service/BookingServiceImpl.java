@@ -2,23 +2,34 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dal.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dal.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemSummaryService;
+import ru.practicum.shareit.pagination.Pagination;
 import ru.practicum.shareit.user.dal.UserRepository;
+import ru.practicum.shareit.user.filter.UserIdFilter;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -27,26 +38,85 @@ public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
-
+    private final ItemSummaryService itemSummaryService;
+    private final UserIdFilter userIdFilter;
+    private final BookingIntervalIndex bookingIntervalIndex;
 
     @Override
+    @Transactional
     public BookingDto createBooking(BookingDto bookingDto, Long userId) {
         User booker = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь не найден"));
 
-        Item item = itemRepository.findById(bookingDto.getItemId())
+        Item item = itemRepository.findByIdForUpdate(bookingDto.getItemId())
                 .orElseThrow(() -> new NotFoundException("Предмет не найден"));
 
         if (!item.isAvailable()) {
             throw new ValidationException("Предмет недоступен для бронирования");
         }
 
+        if (bookingIntervalIndex.overlaps(item.getId(), bookingDto.getStart(), bookingDto.getEnd())) {
+            throw new ConflictException("Предмет уже забронирован на это время");
+        }
+
         Booking booking = BookingMapper.toBooking(bookingDto, booker, item, Status.WAITING);
-        Booking savedBooking = bookingRepository.save(booking);
+        Booking savedBooking;
+        try {
+            savedBooking = bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            bookingIntervalIndex.evict(List.of(item.getId()));
+            throw new ConflictException("Предмет уже забронирован на это время");
+        }
+        bookingIntervalIndex.add(savedBooking);
+        itemSummaryService.refresh(item.getId());
         return BookingMapper.toBookingDto(savedBooking);
     }
 
     @Override
+    @Transactional
+    public List<BookingDto> createBookings(List<BookingDto> bookingDtos, Long userId) {
+        User booker = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("Пользователь не найден"));
+
+        Set<Long> itemIds = bookingDtos.stream()
+                .map(BookingDto::getItemId)
+                .collect(Collectors.toCollection(TreeSet::new));
+        Map<Long, Item> items = itemRepository.findAllByIdForUpdate(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, item -> item));
+        if (items.size() != itemIds.size()) {
+            throw new NotFoundException("Предмет не найден");
+        }
+        bookingIntervalIndex.preload(itemIds);
+
+        List<Booking> bookings = new ArrayList<>();
+        for (BookingDto bookingDto : bookingDtos) {
+            Item item = items.get(bookingDto.getItemId());
+            if (!item.isAvailable()) {
+                throw new ValidationException("Предмет недоступен для бронирования");
+            }
+            if (bookingIntervalIndex.overlaps(item.getId(), bookingDto.getStart(), bookingDto.getEnd())) {
+                throw new ConflictException("Предмет уже забронирован на это время");
+            }
+
+            Booking booking = bookingRepository.save(BookingMapper.toBooking(bookingDto, booker, item, Status.WAITING));
+            bookingIntervalIndex.add(booking);
+            bookings.add(booking);
+        }
+
+        try {
+            bookingRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            bookingIntervalIndex.evict(itemIds);
+            throw new ConflictException("Предмет уже забронирован на это время");
+        }
+        itemSummaryService.refresh(List.copyOf(itemIds));
+        return bookings.stream()
+                .map(BookingMapper::toBookingDto)
+                .toList();
+    }
+
+    @Override
+    @Transactional
     public BookingDto updateBookingStatus(Long userId, Long bookingId, Boolean approved) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Бронирование не найдено"));
@@ -61,11 +131,51 @@ public class BookingServiceImpl implements BookingService {
 
         booking.setStatus(approved ? Status.APPROVED : Status.REJECTED);
         bookingRepository.save(booking);
+        if (!approved) {
+            bookingIntervalIndex.remove(booking);
+        }
 
         return BookingMapper.toBookingDto(booking);
     }
 
     @Override
+    @Transactional
+    public List<BookingDto> updateBookingStatuses(Long userId, List<Long> bookingIds, Boolean approved) {
+        Set<Long> ids = new LinkedHashSet<>(bookingIds);
+        List<Booking> bookings = bookingRepository.findByIdIn(ids);
+        if (bookings.size() != ids.size()) {
+            throw new NotFoundException("Бронирование не найдено");
+        }
+
+        for (Booking booking : bookings) {
+            if (booking.getItem().getOwner() != userId) {
+                throw new ValidationException("Только владелец вещи может подтверждать или отклонять бронирование");
+            }
+            if (!booking.getStatus().equals(Status.WAITING)) {
+                throw new ValidationException("Бронирование уже обработано");
+            }
+        }
+
+        Status status = approved ? Status.APPROVED : Status.REJECTED;
+        if (bookingRepository.updateStatus(ids, Status.WAITING, status) != ids.size()) {
+            throw new ConflictException("Бронирование уже обработано");
+        }
+
+        Map<Long, Booking> bookingsById = new HashMap<>();
+        for (Booking booking : bookings) {
+            booking.setStatus(status);
+            if (!approved) {
+                bookingIntervalIndex.remove(booking);
+            }
+            bookingsById.put(booking.getId(), booking);
+        }
+        return ids.stream()
+                .map(id -> BookingMapper.toBookingDto(bookingsById.get(id)))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public BookingDto getBookingById(Long userId, Long bookingId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Бронирование не найдено"));
@@ -78,80 +188,41 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingDto> getUserBookings(Long userId, String state) {
-        if (!userRepository.existsById(userId)) {
+    @Transactional(readOnly = true)
+    public List<BookingDto> getUserBookings(Long userId, String state, int from, int size, String cursor) {
+        if (!userIdFilter.exists(userId)) {
             throw new NotFoundException("Пользователь с ID " + userId + " не найден");
         }
 
-        List<Booking> bookings;
-
-        switch (State.fromString(state)) {
-            case CURRENT:
-                bookings = bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                        userId, LocalDateTime.now(), LocalDateTime.now());
-                break;
-            case PAST:
-                bookings = bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(
-                        userId, LocalDateTime.now());
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(
-                        userId, LocalDateTime.now());
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByBookerIdAndStatusOrderByStartDesc(
-                        userId, Status.WAITING);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByBookerIdAndStatusOrderByStartDesc(
-                        userId, Status.REJECTED);
-                break;
-            default:
-                bookings = bookingRepository.findByBookerIdOrderByStartDesc(userId);
-                break;
+        Pagination.validate(from, size);
+        ScrollPosition position = BookingCursor.toScrollPosition(cursor, from);
+        return bookingRepository.findBookerBookingDtos(userId, State.fromString(state), LocalDateTime.now(),
+                position, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDto> getOwnerBookings(Long ownerId, String state, int from, int size, String cursor) {
+        if (!userIdFilter.exists(ownerId)) {
+            throw new NotFoundException("Пользователь с ID " + ownerId + " не найден");
         }
 
-        return bookings.stream()
-                .map(BookingMapper::toBookingDto)
-                .collect(Collectors.toList());
+        Pagination.validate(from, size);
+        ScrollPosition position = BookingCursor.toScrollPosition(cursor, from);
+        return bookingRepository.findOwnerBookingDtos(ownerId, State.fromString(state), LocalDateTime.now(),
+                position, size);
     }
 
     @Override
-    public List<BookingDto> getOwnerBookings(Long ownerId, String state) {
-        if (!userRepository.existsById(ownerId)) {
+    @Transactional(readOnly = true)
+    public void streamOwnerBookings(Long ownerId, String state, Consumer<BookingDto> consumer) {
+        if (!userIdFilter.exists(ownerId)) {
             throw new NotFoundException("Пользователь с ID " + ownerId + " не найден");
         }
 
-        List<Booking> bookings;
-
-        switch (State.fromString(state)) {
-            case CURRENT:
-                bookings = bookingRepository.findByItemOwnerAndStartBeforeAndEndAfterOrderByStartDesc(
-                        ownerId, LocalDateTime.now(), LocalDateTime.now());
-                break;
-            case PAST:
-                bookings = bookingRepository.findByItemOwnerAndEndBeforeOrderByStartDesc(
-                        ownerId, LocalDateTime.now());
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findByItemOwnerAndStartAfterOrderByStartDesc(
-                        ownerId, LocalDateTime.now());
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByItemOwnerAndStatusOrderByStartDesc(
-                        ownerId, Status.WAITING);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByItemOwnerAndStatusOrderByStartDesc(
-                        ownerId, Status.REJECTED);
-                break;
-            default:
-                bookings = bookingRepository.findByItemOwnerOrderByStartDesc(ownerId);
-                break;
+        try (Stream<BookingDto> bookings = bookingRepository.streamOwnerBookingDtos(ownerId,
+                State.fromString(state), LocalDateTime.now())) {
+            bookings.forEach(consumer);
         }
-
-        return bookings.stream()
-                .map(BookingMapper::toBookingDto)
-                .collect(Collectors.toList());
     }
 }
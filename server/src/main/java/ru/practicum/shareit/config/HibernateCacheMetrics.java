@@ -0,0 +1,70 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+// Регионы второго уровня Hibernate не зарегистрированы в CacheManager Spring, поэтому их статистика
+// (hibernate.generate_statistics) публикуется в Micrometer отдельно, в тех же метриках cache.*.
+@Component
+@RequiredArgsConstructor
+public class HibernateCacheMetrics implements MeterBinder {
+    private static final List<String> ENTITY_REGIONS = List.of("user", "item", "itemRequest");
+    private static final List<String> QUERY_REGIONS = List.of("itemsByOwner", "itemRequestsByRequestor");
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        ENTITY_REGIONS.forEach(region -> bind(registry, statistics, region, false));
+        QUERY_REGIONS.forEach(region -> bind(registry, statistics, region, true));
+    }
+
+    private static void bind(MeterRegistry registry, Statistics statistics, String region, boolean query) {
+        counter("cache.gets", statistics, region, query, CacheRegionStatistics::getHitCount)
+                .tag("result", "hit")
+                .register(registry);
+        counter("cache.gets", statistics, region, query, CacheRegionStatistics::getMissCount)
+                .tag("result", "miss")
+                .register(registry);
+        counter("cache.puts", statistics, region, query, CacheRegionStatistics::getPutCount)
+                .register(registry);
+        Gauge.builder("cache.size", statistics,
+                        s -> value(s, region, query, CacheRegionStatistics::getElementCountInMemory))
+                .tag("cache", region)
+                .tag("cacheManager", "hibernate")
+                .register(registry);
+    }
+
+    private static FunctionCounter.Builder<Statistics> counter(String name, Statistics statistics, String region,
+                                                               boolean query,
+                                                               ToLongFunction<CacheRegionStatistics> count) {
+        return FunctionCounter.builder(name, statistics, s -> value(s, region, query, count))
+                .tag("cache", region)
+                .tag("cacheManager", "hibernate");
+    }
+
+    private static double value(Statistics statistics, String region, boolean query,
+                                ToLongFunction<CacheRegionStatistics> count) {
+        CacheRegionStatistics regionStatistics;
+        try {
+            regionStatistics = query
+                    ? statistics.getQueryRegionStatistics(region)
+                    : statistics.getDomainDataRegionStatistics(region);
+        } catch (IllegalArgumentException e) {
+            return 0;
+        }
+        return regionStatistics == null ? 0 : count.applyAsLong(regionStatistics);
+    }
+}
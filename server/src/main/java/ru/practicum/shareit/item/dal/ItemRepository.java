@@ -1,18 +1,40 @@
 package ru.practicum.shareit.item.dal;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.ItemSearchRow;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = :id")
+    Optional<Item> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id IN :ids ORDER BY i.id")
+    List<Item> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT i FROM Item i WHERE i.owner = :ownerId")
-    List<Item> findByOwnerId(@Param("ownerId") Long ownerId);
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "itemsByOwner")
+    })
+    List<Item> findByOwnerId(@Param("ownerId") Long ownerId, Pageable pageable);
 
     @Query("SELECT i FROM Item i " +
             "WHERE (upper(i.name) LIKE upper(concat('%', ?1, '%')) " +
@@ -20,6 +42,15 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
             "AND i.available = true")
     List<Item> search(String text);
 
+    @Query(value = "SELECT * FROM items i " +
+            "WHERE (i.name ILIKE concat('%', :text, '%') OR i.description ILIKE concat('%', :text, '%')) " +
+            "AND i.available = true", nativeQuery = true)
+    List<Item> searchByTrigram(@Param("text") String text);
+
+    @Query("SELECT i.id AS id, i.owner AS owner, i.available AS available, i.name AS name, " +
+            "i.description AS description FROM Item i WHERE i.id > :afterId ORDER BY i.id")
+    List<ItemSearchRow> findSearchRowsAfter(@Param("afterId") long afterId, Limit limit);
+
     List<Item> findByRequestIdIn(List<Long> itemRequestIds);
 
     List<Item> findByRequest(ItemRequest itemRequest);
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item.dal;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.model.ItemSummary;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ItemSummaryRepository extends JpaRepository<ItemSummary, Long> {
+    @Modifying
+    @Query(value = "MERGE INTO item_summary s " +
+            "USING (VALUES (CAST(:itemId AS BIGINT), CAST(:lastBookingEnd AS TIMESTAMP), " +
+            "CAST(:nextBookingStart AS TIMESTAMP), CAST(:refreshAt AS TIMESTAMP))) " +
+            "AS v (item_id, last_booking_end, next_booking_start, refresh_at) " +
+            "ON s.item_id = v.item_id " +
+            "WHEN MATCHED THEN UPDATE SET last_booking_end = v.last_booking_end, " +
+            "next_booking_start = v.next_booking_start, refresh_at = v.refresh_at " +
+            "WHEN NOT MATCHED THEN INSERT (item_id, last_booking_end, next_booking_start, refresh_at) " +
+            "VALUES (v.item_id, v.last_booking_end, v.next_booking_start, v.refresh_at)", nativeQuery = true)
+    void upsert(@Param("itemId") Long itemId,
+                @Param("lastBookingEnd") LocalDateTime lastBookingEnd,
+                @Param("nextBookingStart") LocalDateTime nextBookingStart,
+                @Param("refreshAt") LocalDateTime refreshAt);
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.dto;
+
+public interface ItemSearchRow {
+    Long getId();
+
+    Long getOwner();
+
+    Boolean getAvailable();
+
+    String getName();
+
+    String getDescription();
+}
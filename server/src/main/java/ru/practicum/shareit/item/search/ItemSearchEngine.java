@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+public interface ItemSearchEngine {
+    List<ItemDto> search(String text);
+
+    default void index(Item item) {
+    }
+
+    default void removeByOwner(long ownerId) {
+    }
+}
@@ -0,0 +1,293 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dal.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchRow;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Индекс хранится в памяти экземпляра: чужие изменения попадают в него только при периодической пересборке.
+// При нескольких экземплярах сервера используйте shareit.search.engine=trigram или jpql.
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "index", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class ItemSearchIndex implements ItemSearchEngine {
+    private static final int GRAM_SIZE = 3;
+    private static final int WARM_UP_BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+
+    private final Map<Long, IndexedItem> documents = new HashMap<>();
+    private final Map<String, Set<Long>> grams = new HashMap<>();
+    private final Map<String, Set<Long>> tokens = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildLock = new Object();
+
+    // Изменения, применённые во время загрузки снимка; после замены индекса проигрываются повторно.
+    private List<Runnable> pendingUpdates;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            recordUpdates(new ArrayList<>());
+            List<IndexedItem> loaded;
+            try {
+                loaded = load();
+            } catch (RuntimeException e) {
+                recordUpdates(null);
+                throw e;
+            }
+
+            lock.writeLock().lock();
+            try {
+                documents.clear();
+                grams.clear();
+                tokens.clear();
+                loaded.forEach(this::put);
+                pendingUpdates.forEach(Runnable::run);
+                pendingUpdates = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Индекс поиска вещей построен, документов: {}", loaded.size());
+        }
+    }
+
+    private List<IndexedItem> load() {
+        List<IndexedItem> loaded = new ArrayList<>();
+        long lastId = 0;
+        List<ItemSearchRow> rows;
+        do {
+            rows = itemRepository.findSearchRowsAfter(lastId, Limit.of(WARM_UP_BATCH_SIZE));
+            for (ItemSearchRow row : rows) {
+                loaded.add(IndexedItem.of(row));
+                lastId = row.getId();
+            }
+        } while (rows.size() == WARM_UP_BATCH_SIZE);
+        return loaded;
+    }
+
+    private void recordUpdates(List<Runnable> updates) {
+        lock.writeLock().lock();
+        try {
+            pendingUpdates = updates;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${shareit.search.index.resync-interval:PT5M}",
+            fixedDelayString = "${shareit.search.index.resync-interval:PT5M}")
+    public void resync() {
+        rebuild();
+    }
+
+    @Override
+    public void index(Item item) {
+        IndexedItem document = IndexedItem.of(item);
+        afterCommit(() -> {
+            remove(document.id());
+            put(document);
+        });
+    }
+
+    @Override
+    public void removeByOwner(long ownerId) {
+        afterCommit(() -> documents.values().stream()
+                .filter(document -> document.owner() == ownerId)
+                .map(IndexedItem::id)
+                .toList()
+                .forEach(this::remove));
+    }
+
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(update);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(update);
+            }
+        });
+    }
+
+    private void apply(Runnable update) {
+        lock.writeLock().lock();
+        try {
+            update.run();
+            if (pendingUpdates != null) {
+                pendingUpdates.add(update);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ItemDto> search(String text) {
+        String query = normalize(text);
+        if (query.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            return candidates(query).stream()
+                    .map(documents::get)
+                    .filter(document -> document != null && document.available() && document.contains(query))
+                    .sorted(Comparator.comparingInt((IndexedItem document) -> document.score(query, tokens))
+                            .reversed()
+                            .thenComparingLong(IndexedItem::id))
+                    .map(IndexedItem::toItemDto)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Collection<Long> candidates(String query) {
+        if (query.length() < GRAM_SIZE) {
+            return grams.getOrDefault(query, Collections.emptySet());
+        }
+
+        Set<String> queryGrams = grams(query);
+        List<Set<Long>> postings = new ArrayList<>(queryGrams.size());
+        for (String gram : queryGrams) {
+            Set<Long> posting = grams.get(gram);
+            if (posting == null) {
+                return Collections.emptyList();
+            }
+            postings.add(posting);
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> result = new HashSet<>(postings.get(0));
+        for (int i = 1; i < postings.size() && !result.isEmpty(); i++) {
+            result.retainAll(postings.get(i));
+        }
+        return result;
+    }
+
+    private void put(IndexedItem document) {
+        documents.put(document.id(), document);
+        document.grams().forEach(gram -> grams.computeIfAbsent(gram, key -> new HashSet<>()).add(document.id()));
+        document.tokens().forEach(token -> tokens.computeIfAbsent(token, key -> new HashSet<>()).add(document.id()));
+    }
+
+    private void remove(long itemId) {
+        IndexedItem document = documents.remove(itemId);
+        if (document == null) {
+            return;
+        }
+        document.grams().forEach(gram -> removePosting(grams, gram, itemId));
+        document.tokens().forEach(token -> removePosting(tokens, token, itemId));
+    }
+
+    private static void removePosting(Map<String, Set<Long>> postings, String key, long itemId) {
+        Set<Long> posting = postings.get(key);
+        if (posting != null) {
+            posting.remove(itemId);
+            if (posting.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    static Set<String> grams(String text) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= text.length(); i++) {
+            result.add(text.substring(i, i + GRAM_SIZE));
+        }
+        return result;
+    }
+
+    // Короткие подстроки тоже попадают в постинги, чтобы запросы из 1-2 символов не перебирали все документы.
+    static Set<String> indexGrams(String text) {
+        Set<String> result = grams(text);
+        for (int length = 1; length < GRAM_SIZE; length++) {
+            for (int i = 0; i + length <= text.length(); i++) {
+                result.add(text.substring(i, i + length));
+            }
+        }
+        return result;
+    }
+
+    static Set<String> tokens(String text) {
+        Set<String> result = new HashSet<>();
+        for (String token : text.split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                result.add(token);
+            }
+        }
+        return result;
+    }
+
+    private record IndexedItem(long id, long owner, boolean available, String name, String description,
+                               String searchName, String searchDescription) {
+        static IndexedItem of(Item item) {
+            return new IndexedItem(item.getId(), item.getOwner(), item.isAvailable(),
+                    item.getName(), item.getDescription(),
+                    normalize(item.getName()), normalize(item.getDescription()));
+        }
+
+        static IndexedItem of(ItemSearchRow row) {
+            return new IndexedItem(row.getId(), row.getOwner(), Boolean.TRUE.equals(row.getAvailable()),
+                    row.getName(), row.getDescription(),
+                    normalize(row.getName()), normalize(row.getDescription()));
+        }
+
+        Set<String> grams() {
+            Set<String> result = ItemSearchIndex.indexGrams(searchName);
+            result.addAll(ItemSearchIndex.indexGrams(searchDescription));
+            return result;
+        }
+
+        Set<String> tokens() {
+            Set<String> result = ItemSearchIndex.tokens(searchName);
+            result.addAll(ItemSearchIndex.tokens(searchDescription));
+            return result;
+        }
+
+        boolean contains(String query) {
+            return searchName.contains(query) || searchDescription.contains(query);
+        }
+
+        int score(String query, Map<String, Set<Long>> tokenPostings) {
+            int score = 0;
+            if (tokenPostings.getOrDefault(query, Collections.emptySet()).contains(id)) {
+                score += 4;
+            }
+            if (searchName.contains(query)) {
+                score += searchName.startsWith(query) ? 3 : 2;
+            }
+            if (searchDescription.contains(query)) {
+                score += 1;
+            }
+            return score;
+        }
+
+        ItemDto toItemDto() {
+            return new ItemDto(id, name, description, available);
+        }
+    }
+}
@@ -9,11 +9,13 @@ import java.util.List;
 public interface ItemService {
     ItemDto createItem(ItemDto itemDto, long userId);
 
+    List<ItemDto> createItems(List<ItemDto> itemDtos, long userId);
+
     ItemDto updateItem(ItemDto itemDto, long itemId, long userId);
 
     ItemDto getItemById(long itemId);
 
-    List<ItemDto> getItems(long userId);
+    List<ItemDto> getItems(long userId, int from, int size);
 
     Collection<ItemDto> searchItems(String text);
 
@@ -2,9 +2,10 @@ package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dal.BookingRepository;
-import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
@@ -16,9 +17,13 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSummary;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.pagination.Pagination;
 import ru.practicum.shareit.request.dal.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dal.UserRepository;
+import ru.practicum.shareit.user.filter.UserIdFilter;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
@@ -34,11 +39,16 @@ public class ItemServiceImpl implements ItemService {
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemSummaryService itemSummaryService;
+    private final UserIdFilter userIdFilter;
 
+    @Transactional
     public ItemDto createItem(ItemDto itemDto, long userId) {
         validateUserExists(userId);
 
         Item item = ItemMapper.toItem(itemDto, 0, userId);
+        item.setId(null);
         item.setOwner(userId);
 
         if (itemDto.getRequestId() != null) {
@@ -48,9 +58,42 @@ public class ItemServiceImpl implements ItemService {
         }
 
         item = itemRepository.save(item);
+        itemSearchEngine.index(item);
         return ItemMapper.toItemDto(item);
     }
 
+    @Transactional
+    public List<ItemDto> createItems(List<ItemDto> itemDtos, long userId) {
+        validateUserExists(userId);
+
+        Set<Long> requestIds = itemDtos.stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, ItemRequest> requests = itemRequestRepository.findAllById(requestIds).stream()
+                .collect(Collectors.toMap(ItemRequest::getId, request -> request));
+        if (requests.size() != requestIds.size()) {
+            throw new NotFoundException("Запрос не найден");
+        }
+
+        List<Item> items = itemDtos.stream()
+                .map(itemDto -> {
+                    Item item = ItemMapper.toItem(itemDto, 0, userId);
+                    item.setId(null);
+                    item.setOwner(userId);
+                    item.setRequest(itemDto.getRequestId() == null ? null : requests.get(itemDto.getRequestId()));
+                    return item;
+                })
+                .toList();
+
+        items = itemRepository.saveAll(items);
+        items.forEach(itemSearchEngine::index);
+        return items.stream()
+                .map(ItemMapper::toItemDto)
+                .toList();
+    }
+
+    @Transactional
     public ItemDto updateItem(ItemDto itemDto, long itemId, long userId) {
         validateUserExists(userId);
 
@@ -62,9 +105,12 @@ public class ItemServiceImpl implements ItemService {
         }
 
         ItemMapper.updateItemFields(existingItem, itemDto);
-        return ItemMapper.toItemDto(itemRepository.save(existingItem));
+        Item savedItem = itemRepository.save(existingItem);
+        itemSearchEngine.index(savedItem);
+        return ItemMapper.toItemDto(savedItem);
     }
 
+    @Transactional(readOnly = true)
     public ItemDto getItemById(long itemId) {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Item не найден с ID: " + itemId));
@@ -80,61 +126,46 @@ public class ItemServiceImpl implements ItemService {
         return itemDto;
     }
 
-    public List<ItemDto> getItems(long ownerId) {
+    @Transactional(readOnly = true)
+    public List<ItemDto> getItems(long ownerId, int from, int size) {
         validateUserExists(ownerId);
 
-        List<Item> items = itemRepository.findByOwnerId(ownerId);
+        List<Item> items = itemRepository.findByOwnerId(ownerId, Pagination.of(from, size, Sort.by("id")));
 
         if (items.isEmpty()) {
             return Collections.emptyList();
         }
 
-        List<Booking> lastBookingsList = bookingRepository.findLastBookings(items);
-        List<Booking> nextBookingsList = bookingRepository.findNextBookings(items);
+        List<Long> itemIds = items.stream().map(Item::getId).toList();
+        Map<Long, ItemSummary> summaries = itemSummaryService.getSummaries(itemIds, LocalDateTime.now());
 
-        Map<Long, Booking> lastBookings = lastBookingsList.stream()
-                .collect(Collectors.toMap(b -> b.getItem().getId(), b -> b, (b1, b2) -> b1));
-
-        Map<Long, Booking> nextBookings = nextBookingsList.stream()
-                .collect(Collectors.toMap(b -> b.getItem().getId(), b -> b, (b1, b2) -> b1));
+        Map<Long, List<CommentDto>> comments = loadComments(itemIds);
 
         return items.stream()
                 .map(item -> {
                     ItemDto itemDto = ItemMapper.toItemDto(item);
 
-                    itemDto.setLastBooking(
-                            Optional.ofNullable(lastBookings.get(item.getId()))
-                                    .map(Booking::getEnd)
-                                    .orElse(null)
-                    );
-
-                    itemDto.setNextBooking(
-                            Optional.ofNullable(nextBookings.get(item.getId()))
-                                    .map(Booking::getStart)
-                                    .orElse(null)
-                    );
+                    ItemSummary summary = summaries.get(item.getId());
+                    itemDto.setLastBooking(summary.getLastBookingEnd());
+                    itemDto.setNextBooking(summary.getNextBookingStart());
 
-                    List<CommentDto> comments = commentRepository.findByItemIdOrderByCreatedDesc(item.getId())
-                            .stream()
-                            .map(CommentMapper::toCommentDto)
-                            .collect(Collectors.toList());
-                    itemDto.setComments(comments);
+                    itemDto.setComments(comments.getOrDefault(item.getId(), Collections.emptyList()));
 
                     return itemDto;
                 })
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public Collection<ItemDto> searchItems(String text) {
         if (text == null || text.isEmpty()) {
             return Collections.emptyList();
         }
 
-        return itemRepository.search(text).stream()
-                .map(ItemMapper::toItemDto)
-                .collect(Collectors.toList());
+        return itemSearchEngine.search(text);
     }
 
+    @Transactional
     public CommentDto addComment(long userId, long itemId, CommentDto commentDto) {
         validateUserExists(userId);
 
@@ -162,12 +193,18 @@ public class ItemServiceImpl implements ItemService {
         return CommentMapper.toCommentDto(savedComment);
     }
 
+    private Map<Long, List<CommentDto>> loadComments(List<Long> itemIds) {
+        return commentRepository.findByItemIdInWithAuthor(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
+    }
+
     private void validateUserExists(long userId) {
         if (userId == 0) {
             throw new ValidationException("userId не должно быть пустым");
         }
 
-        if (!userRepository.existsById(userId)) {
+        if (!userIdFilter.exists(userId)) {
             throw new NotFoundException("Пользователь с ID " + userId + " не найден");
         }
     }
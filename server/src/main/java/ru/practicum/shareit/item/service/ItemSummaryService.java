@@ -0,0 +1,93 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dal.BookingRepository;
+import ru.practicum.shareit.booking.dto.ItemBookingDate;
+import ru.practicum.shareit.item.dal.ItemSummaryRepository;
+import ru.practicum.shareit.item.model.ItemSummary;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+public class ItemSummaryService {
+    private final ItemSummaryRepository itemSummaryRepository;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate writeTransaction;
+
+    public ItemSummaryService(ItemSummaryRepository itemSummaryRepository, BookingRepository bookingRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.itemSummaryRepository = itemSummaryRepository;
+        this.bookingRepository = bookingRepository;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, ItemSummary> getSummaries(List<Long> itemIds, LocalDateTime now) {
+        Map<Long, ItemSummary> summaries = itemSummaryRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(ItemSummary::getItemId, Function.identity()));
+
+        List<Long> outdated = itemIds.stream()
+                .filter(itemId -> !summaries.containsKey(itemId) || summaries.get(itemId).isStale(now))
+                .toList();
+        if (!outdated.isEmpty()) {
+            List<ItemSummary> computed = compute(outdated, now);
+            computed.forEach(summary -> summaries.put(summary.getItemId(), summary));
+            store(computed);
+        }
+        return summaries;
+    }
+
+    @Transactional
+    public void refresh(long itemId) {
+        refresh(List.of(itemId));
+    }
+
+    @Transactional
+    public void refresh(List<Long> itemIds) {
+        compute(itemIds, LocalDateTime.now()).forEach(this::upsert);
+    }
+
+    private void store(List<ItemSummary> summaries) {
+        try {
+            writeTransaction.executeWithoutResult(status -> summaries.forEach(this::upsert));
+        } catch (DataAccessException e) {
+            log.debug("Сводки вещей не сохранены, они будут пересчитаны при следующем чтении", e);
+        }
+    }
+
+    private void upsert(ItemSummary summary) {
+        itemSummaryRepository.upsert(summary.getItemId(), summary.getLastBookingEnd(),
+                summary.getNextBookingStart(), summary.getRefreshAt());
+    }
+
+    private List<ItemSummary> compute(List<Long> itemIds, LocalDateTime now) {
+        Map<Long, LocalDateTime> lastEnds = toMap(bookingRepository.findLastBookingEnds(itemIds, now));
+        Map<Long, LocalDateTime> nextStarts = toMap(bookingRepository.findNextBookingStarts(itemIds, now));
+        Map<Long, LocalDateTime> nextEnds = toMap(bookingRepository.findNextBookingEnds(itemIds, now));
+
+        return itemIds.stream()
+                .map(itemId -> new ItemSummary(itemId, lastEnds.get(itemId), nextStarts.get(itemId),
+                        Stream.of(nextStarts.get(itemId), nextEnds.get(itemId))
+                                .filter(Objects::nonNull)
+                                .min(Comparator.naturalOrder())
+                                .orElse(null)))
+                .toList();
+    }
+
+    private static Map<Long, LocalDateTime> toMap(List<ItemBookingDate> dates) {
+        return dates.stream()
+                .collect(Collectors.toMap(ItemBookingDate::getItemId, ItemBookingDate::getDate));
+    }
+}
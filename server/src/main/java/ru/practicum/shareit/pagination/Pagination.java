@@ -0,0 +1,24 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.exception.ValidationException;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Pagination {
+    public static Pageable of(int from, int size, Sort sort) {
+        validate(from, size);
+        return new OffsetPageRequest(from, size, sort);
+    }
+
+    public static void validate(int from, int size) {
+        if (from < 0) {
+            throw new ValidationException("Параметр 'from' не может быть отрицательным");
+        }
+        if (size <= 0) {
+            throw new ValidationException("Параметр 'size' должен быть больше 0");
+        }
+    }
+}
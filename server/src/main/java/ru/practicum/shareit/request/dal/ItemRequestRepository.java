@@ -1,7 +1,11 @@
 package ru.practicum.shareit.request.dal;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -10,8 +14,12 @@ import java.util.List;
 
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "itemRequestsByRequestor")
+    })
     List<ItemRequest> findByRequestorOrderByCreatedDesc(Long userId);
 
-    @Query("SELECT ir FROM ItemRequest ir WHERE ir.requestor <> :userId ORDER BY ir.created DESC")
-    List<ItemRequest> findAllByRequestorNotOrderByCreatedDesc(@Param("userId") long userId);
+    @Query("SELECT ir FROM ItemRequest ir WHERE ir.requestor <> :userId ORDER BY ir.created DESC, ir.id DESC")
+    List<ItemRequest> findAllByRequestorNotOrderByCreatedDesc(@Param("userId") long userId, Pageable pageable);
 }
@@ -9,7 +9,7 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getUserRequests(long userId);
 
-    List<ItemRequestDto> getAllRequests(long userId);
+    List<ItemRequestDto> getAllRequests(long userId, int from, int size);
 
     ItemRequestDto getRequestById(long userId, long requestId);
 }
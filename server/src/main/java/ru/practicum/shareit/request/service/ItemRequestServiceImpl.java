@@ -1,12 +1,15 @@
 package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dal.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.Pagination;
 import ru.practicum.shareit.request.dal.ItemRequestRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
@@ -23,21 +26,27 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final ItemRepository itemRepository;
 
+    @Transactional
     public ItemRequestDto createRequest(Long userId, ItemRequestDto requestDto) {
         ItemRequest itemRequest = ItemRequestMapper.toItemRequest(requestDto, 0, userId, LocalDateTime.now());
+        itemRequest.setId(null);
         return ItemRequestMapper.toItemRequestDto(itemRequestRepository.save(itemRequest));
     }
 
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> getUserRequests(long userId) {
         List<ItemRequest> itemRequests = itemRequestRepository.findByRequestorOrderByCreatedDesc(userId);
         return putItemDtoListInToItemRequestDtoList(itemRequests);
     }
 
-    public List<ItemRequestDto> getAllRequests(long userId) {
-        List<ItemRequest> itemRequests = itemRequestRepository.findAllByRequestorNotOrderByCreatedDesc(userId);
+    @Transactional(readOnly = true)
+    public List<ItemRequestDto> getAllRequests(long userId, int from, int size) {
+        List<ItemRequest> itemRequests = itemRequestRepository.findAllByRequestorNotOrderByCreatedDesc(
+                userId, Pagination.of(from, size, Sort.unsorted()));
         return putItemDtoListInToItemRequestDtoList(itemRequests);
     }
 
+    @Transactional(readOnly = true)
     public ItemRequestDto getRequestById(long userId, long requestId) {
         ItemRequest itemRequest = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException("Request not found"));
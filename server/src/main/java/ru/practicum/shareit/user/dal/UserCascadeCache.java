@@ -0,0 +1,42 @@
+package ru.practicum.shareit.user.dal;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+// Вещи и запросы пользователя удаляются каскадом в базе (ON DELETE CASCADE), Hibernate об этом не знает.
+@Component
+@RequiredArgsConstructor
+public class UserCascadeCache {
+    static final String ITEMS_BY_OWNER = "itemsByOwner";
+    static final String ITEM_REQUESTS_BY_REQUESTOR = "itemRequestsByRequestor";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evictCascadedEntities() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict();
+            }
+        });
+    }
+
+    private void evict() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Item.class);
+        cache.evictEntityData(ItemRequest.class);
+        cache.evictQueryRegion(ITEMS_BY_OWNER);
+        cache.evictQueryRegion(ITEM_REQUESTS_BY_REQUESTOR);
+    }
+}
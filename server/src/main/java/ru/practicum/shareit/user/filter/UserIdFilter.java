@@ -0,0 +1,155 @@
+package ru.practicum.shareit.user.filter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.user.dal.UserRepository;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Отрицательный ответ фильтра считается окончательным. Пользователи, созданные другими экземплярами сервера,
+// становятся видны после пересборки раз в shareit.users.filter.rebuild-interval.
+@Component
+@Slf4j
+public class UserIdFilter {
+    private static final int WARM_UP_BATCH_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final int words;
+    private final long bitCount;
+    private final int hashCount;
+
+    private volatile AtomicLongArray bits;
+    private AtomicLongArray rebuilding;
+
+    private volatile boolean ready;
+
+    public UserIdFilter(UserRepository userRepository,
+                        @Value("${shareit.users.filter.expected-insertions:1000000}") long expectedInsertions,
+                        @Value("${shareit.users.filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        long words = Math.max(1, (optimalBitCount(expectedInsertions, falsePositiveRate) + Long.SIZE - 1) / Long.SIZE);
+        this.words = Math.toIntExact(words);
+        this.bits = new AtomicLongArray(this.words);
+        this.bitCount = words * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        AtomicLongArray next = new AtomicLongArray(words);
+        synchronized (this) {
+            rebuilding = next;
+        }
+
+        long count = 0;
+        long lastId = 0;
+        List<Long> ids;
+        do {
+            ids = userRepository.findIdsAfter(lastId, Limit.of(WARM_UP_BATCH_SIZE));
+            for (Long id : ids) {
+                setBits(next, id);
+                lastId = id;
+            }
+            count += ids.size();
+        } while (ids.size() == WARM_UP_BATCH_SIZE);
+
+        synchronized (this) {
+            bits = next;
+            rebuilding = null;
+        }
+        ready = true;
+        log.info("Фильтр идентификаторов пользователей построен, пользователей: {}", count);
+    }
+
+    @Scheduled(initialDelayString = "${shareit.users.filter.rebuild-interval:PT1M}",
+            fixedDelayString = "${shareit.users.filter.rebuild-interval:PT1M}")
+    public void rebuild() {
+        warmUp();
+    }
+
+    public void add(long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            addNow(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                addNow(userId);
+            }
+        });
+    }
+
+    public boolean exists(long userId) {
+        return mightContain(userId) && userRepository.existsById(userId);
+    }
+
+    private synchronized void addNow(long userId) {
+        setBits(bits, userId);
+        if (rebuilding != null) {
+            setBits(rebuilding, userId);
+        }
+    }
+
+    public boolean mightContain(long userId) {
+        if (!ready) {
+            return true;
+        }
+
+        AtomicLongArray current = bits;
+        long hash1 = mix(userId);
+        long hash2 = mix(hash1);
+        for (int i = 0; i < hashCount; i++) {
+            long index = index(hash1 + i * hash2);
+            if ((current.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void setBits(AtomicLongArray target, long userId) {
+        long hash1 = mix(userId);
+        long hash2 = mix(hash1);
+        for (int i = 0; i < hashCount; i++) {
+            setBit(target, index(hash1 + i * hash2));
+        }
+    }
+
+    private static void setBit(AtomicLongArray bits, long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+
+    private long index(long hash) {
+        return (hash & Long.MAX_VALUE) % bitCount;
+    }
+
+    private static long optimalBitCount(long expectedInsertions, double falsePositiveRate) {
+        return (long) (-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
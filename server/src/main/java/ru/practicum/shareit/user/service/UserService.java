@@ -11,7 +11,7 @@ public interface UserService {
 
     UserDto getUserById(long userId);
 
-    List<UserDto> getUsers();
+    List<UserDto> getUsers(int from, int size);
 
     void deleteUser(long userId);
 }
@@ -2,12 +2,20 @@ package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dal.BookingRepository;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.pagination.Pagination;
+import ru.practicum.shareit.user.dal.UserCascadeCache;
 import ru.practicum.shareit.user.dal.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
+import ru.practicum.shareit.user.filter.UserIdFilter;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
@@ -18,7 +26,13 @@ import java.util.stream.Collectors;
 @Slf4j
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final UserIdFilter userIdFilter;
+    private final BookingRepository bookingRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final UserCascadeCache userCascadeCache;
 
+    @Transactional
     public UserDto createUser(UserDto userDto) {
         boolean emailExists = userRepository.existsByEmail(userDto.getEmail());
         if (emailExists) {
@@ -26,9 +40,11 @@ public class UserServiceImpl implements UserService {
         }
 
         User user = userRepository.save(UserMapper.toUser(userDto, 0));
+        userIdFilter.add(user.getId());
         return UserMapper.toUserDto(user);
     }
 
+    @Transactional
     public UserDto updateUser(long userId, UserDto userDto) {
         User existingUser = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь не найден"));
@@ -43,23 +59,30 @@ public class UserServiceImpl implements UserService {
         return UserMapper.toUserDto(userRepository.save(existingUser));
     }
 
+    @Transactional(readOnly = true)
     public UserDto getUserById(long userId) {
         return userRepository.findById(userId)
                 .map(UserMapper::toUserDto)
                 .orElseThrow(() -> new NotFoundException("Пользователь не найден с ID: " + userId));
     }
 
-    public List<UserDto> getUsers() {
-        return userRepository.findAll()
+    @Transactional(readOnly = true)
+    public List<UserDto> getUsers(int from, int size) {
+        return userRepository.findAll(Pagination.of(from, size, Sort.by("id")))
                 .stream()
                 .map(UserMapper::toUserDto)
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public void deleteUser(long userId) {
-        if (!userRepository.existsById(userId)) {
+        if (!userIdFilter.exists(userId)) {
             throw new NotFoundException("Пользователь не найден с ID: " + userId);
         }
+        List<Long> bookedItemIds = bookingRepository.findItemIdsByBookerOrOwner(userId);
         userRepository.deleteById(userId);
+        userCascadeCache.evictCascadedEntities();
+        bookingIntervalIndex.evict(bookedItemIds);
+        itemSearchEngine.removeByOwner(userId);
     }
 }
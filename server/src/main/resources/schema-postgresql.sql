@@ -0,0 +1,54 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_items_name_trgm ON items USING gin (name gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_items_description_trgm ON items USING gin (description gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_items_upper_name_trgm ON items USING gin (upper(name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_items_upper_description_trgm ON items USING gin (upper(description) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_waiting ON bookings (booker_id, start_date DESC)
+    WHERE status = 'WAITING';
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_waiting ON bookings (item_id, start_date DESC)
+    WHERE status = 'WAITING';
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Exclusion constraints cannot be added as NOT VALID. If existing WAITING/APPROVED bookings already
+-- overlap, startup logs a warning and continues without the constraint. List the conflicting pairs with
+--   SELECT a.id, b.id, a.item_id FROM bookings a JOIN bookings b ON a.item_id = b.item_id AND a.id < b.id
+--   AND a.status IN ('WAITING', 'APPROVED') AND b.status IN ('WAITING', 'APPROVED')
+--   AND tsrange(a.start_date, a.end_date) && tsrange(b.start_date, b.end_date)
+-- then reject or move one booking of each pair and restart to create the constraint.
+DO '
+DECLARE
+    overlapping BIGINT;
+BEGIN
+    ALTER TABLE bookings ADD CONSTRAINT ex_bookings_item_period
+        EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+        WHERE (status IN (''WAITING'', ''APPROVED''));
+EXCEPTION
+    WHEN duplicate_object OR duplicate_table THEN NULL;
+    WHEN exclusion_violation THEN
+        SELECT count(*) INTO overlapping
+        FROM bookings a
+        JOIN bookings b ON a.item_id = b.item_id AND a.id < b.id
+        WHERE a.status IN (''WAITING'', ''APPROVED'') AND b.status IN (''WAITING'', ''APPROVED'')
+            AND tsrange(a.start_date, a.end_date) && tsrange(b.start_date, b.end_date);
+        RAISE WARNING ''ex_bookings_item_period was not created: % pairs of active bookings overlap'', overlapping;
+END';
+
+SELECT setval('users_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM users), (SELECT last_value FROM users_seq)));
+
+SELECT setval('item_requests_seq',
+    GREATEST((SELECT COALESCE(MAX(id), 1) FROM item_requests), (SELECT last_value FROM item_requests_seq)));
+
+SELECT setval('items_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM items), (SELECT last_value FROM items_seq)));
+
+SELECT setval('bookings_seq',
+    GREATEST((SELECT COALESCE(MAX(id), 1) FROM bookings), (SELECT last_value FROM bookings_seq)));
+
+SELECT setval('comments_seq',
+    GREATEST((SELECT COALESCE(MAX(id), 1) FROM comments), (SELECT last_value FROM comments_seq)));
@@ -1,5 +1,11 @@
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS item_requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS users (
-  id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+  id BIGINT NOT NULL,
   name VARCHAR(255) NOT NULL,
   email VARCHAR(512) NOT NULL,
   CONSTRAINT pk_users PRIMARY KEY (id),
@@ -7,7 +13,7 @@ CREATE TABLE IF NOT EXISTS users (
 );
 
 CREATE TABLE IF NOT EXISTS item_requests (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id BIGINT NOT NULL,
     description TEXT NOT NULL,
     requestor BIGINT NOT NULL,
     created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
@@ -15,8 +21,11 @@ CREATE TABLE IF NOT EXISTS item_requests (
     CONSTRAINT fk_requestor FOREIGN KEY (requestor) REFERENCES users (id) ON DELETE CASCADE
 );
 
+CREATE INDEX IF NOT EXISTS idx_item_requests_requestor_created ON item_requests (requestor, created DESC);
+CREATE INDEX IF NOT EXISTS idx_item_requests_created ON item_requests (created DESC, id DESC);
+
 CREATE TABLE IF NOT EXISTS items (
-  id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+  id BIGINT NOT NULL,
   name VARCHAR(255) NOT NULL,
   description TEXT,
   available BOOLEAN NOT NULL,
@@ -27,8 +36,11 @@ CREATE TABLE IF NOT EXISTS items (
   CONSTRAINT fk_request FOREIGN KEY (request) REFERENCES item_requests (id) ON DELETE CASCADE
 );
 
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner, id);
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request);
+
 CREATE TABLE IF NOT EXISTS bookings (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id BIGINT NOT NULL,
     start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     item_id BIGINT NOT NULL,
@@ -39,8 +51,12 @@ CREATE TABLE IF NOT EXISTS bookings (
     CONSTRAINT fk_booker_id FOREIGN KEY (booker_id) REFERENCES users (id) ON DELETE CASCADE
 );
 
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start_end ON bookings (item_id, start_date, end_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date DESC);
+
 CREATE TABLE IF NOT EXISTS comments (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id BIGINT NOT NULL,
     text TEXT NOT NULL,
     item_id BIGINT NOT NULL,
     author_id BIGINT NOT NULL,
@@ -49,3 +65,15 @@ CREATE TABLE IF NOT EXISTS comments (
     CONSTRAINT fk_comments_item_id FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE,
     CONSTRAINT fk_comments_author_id FOREIGN KEY (author_id) REFERENCES users (id) ON DELETE CASCADE
 );
+
+CREATE INDEX IF NOT EXISTS idx_comments_item_created ON comments (item_id, created DESC);
+CREATE INDEX IF NOT EXISTS idx_comments_author ON comments (author_id);
+
+CREATE TABLE IF NOT EXISTS item_summary (
+    item_id BIGINT NOT NULL,
+    last_booking_end TIMESTAMP WITHOUT TIME ZONE,
+    next_booking_start TIMESTAMP WITHOUT TIME ZONE,
+    refresh_at TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT pk_item_summary PRIMARY KEY (item_id),
+    CONSTRAINT fk_item_summary_item_id FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE
+);
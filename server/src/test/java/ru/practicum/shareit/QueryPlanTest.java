@@ -0,0 +1,145 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dal.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dal.CommentRepository;
+import ru.practicum.shareit.item.dal.ItemRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dal.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.dal.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "ru.practicum.shareit.QueryPlanTest$RecordingInspector"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class QueryPlanTest {
+    private static final Set<String> STATEMENTS = Collections.synchronizedSet(new LinkedHashSet<>());
+
+    private static final List<String> UNINDEXABLE = List.of(
+            "like upper(",
+            "requestor<>?");
+
+    private final TestEntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final CommentRepository commentRepository;
+    private final BookingRepository bookingRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private ItemRequest request;
+
+    @BeforeEach
+    void setUp() {
+        owner = entityManager.persist(new User(0L, "Owner", "owner@yandex.ru"));
+        booker = entityManager.persist(new User(0L, "Booker", "booker@yandex.ru"));
+        request = entityManager.persist(new ItemRequest(null, "Нужна дрель", booker.getId(), LocalDateTime.now()));
+        item = entityManager.persist(new Item(null, "Дрель", "Ударная", true, owner.getId(), request));
+        entityManager.persist(new Comment(null, "Отличная", item, booker, LocalDateTime.now()));
+        entityManager.persist(new Booking(null, LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1),
+                item, booker, Status.APPROVED));
+        entityManager.flush();
+        entityManager.clear();
+        STATEMENTS.clear();
+    }
+
+    @Test
+    void repositoryQueriesShouldNotScanTables() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> itemIds = List.of(item.getId());
+
+        userRepository.existsByEmail(owner.getEmail());
+        userRepository.findIdsAfter(0L, Limit.of(10));
+        userRepository.findById(owner.getId());
+        userRepository.existsById(owner.getId());
+
+        itemRepository.findById(item.getId());
+        itemRepository.findByIdForUpdate(item.getId());
+        itemRepository.findByOwnerId(owner.getId(), PageRequest.of(0, 10));
+        itemRepository.search("дрель");
+        itemRepository.findByRequestIdIn(List.of(request.getId()));
+        itemRepository.findByRequest(request);
+
+        itemRequestRepository.findById(request.getId());
+        itemRequestRepository.findByRequestorOrderByCreatedDesc(booker.getId());
+        itemRequestRepository.findAllByRequestorNotOrderByCreatedDesc(owner.getId(), PageRequest.of(0, 10));
+
+        commentRepository.findByItemIdOrderByCreatedDesc(item.getId());
+        commentRepository.findByItemIdInWithAuthor(itemIds);
+
+        bookingRepository.findIntervals(item.getId(), BookingIntervalIndex.ACTIVE_STATUSES);
+        bookingRepository.existsByItemIdAndBookerIdAndStatusAndEndBefore(item.getId(), booker.getId(),
+                Status.APPROVED, now);
+        bookingRepository.findLastBookingEnds(itemIds, now);
+        bookingRepository.findNextBookingStarts(itemIds, now);
+        bookingRepository.findNextBookingEnds(itemIds, now);
+        for (State state : State.values()) {
+            bookingRepository.findBookerBookingDtos(booker.getId(), state, now, ScrollPosition.offset(), 10);
+            bookingRepository.findOwnerBookingDtos(owner.getId(), state, now, ScrollPosition.offset(), 10);
+            try (Stream<BookingDto> bookings = bookingRepository.streamOwnerBookingDtos(owner.getId(), state, now)) {
+                bookings.forEach(booking -> { });
+            }
+        }
+
+        dropForeignKeys();
+        List<String> checked = new ArrayList<>();
+        for (String sql : STATEMENTS) {
+            String lower = sql.toLowerCase();
+            if (!lower.startsWith("select") || !lower.contains(" where ")
+                    || UNINDEXABLE.stream().anyMatch(lower::contains)) {
+                continue;
+            }
+            String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+            assertFalse(plan.contains("tableScan"), () -> "Table scan in plan of " + sql + ":\n" + plan);
+            checked.add(sql);
+        }
+        assertTrue(checked.size() >= 20, () -> "Too few statements checked: " + checked);
+    }
+
+    private void dropForeignKeys() {
+        jdbcTemplate.queryForList("SELECT TABLE_NAME, CONSTRAINT_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS " +
+                        "WHERE TABLE_SCHEMA = 'PUBLIC' AND CONSTRAINT_TYPE = 'FOREIGN KEY'")
+                .forEach(constraint -> jdbcTemplate.execute("ALTER TABLE " + constraint.get("TABLE_NAME") +
+                        " DROP CONSTRAINT " + constraint.get("CONSTRAINT_NAME")));
+    }
+
+    public static class RecordingInspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@SpringBootTest
+public class BookingConcurrencyTest {
+    private static final int ATTEMPTS = 20;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(ATTEMPTS);
+
+    private long ownerId;
+    private long bookerId;
+    private long itemId;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = String.valueOf(System.nanoTime());
+        ownerId = userService.createUser(new UserDto(0, "Owner", "owner" + suffix + "@yandex.ru")).getId();
+        bookerId = userService.createUser(new UserDto(0, "Booker", "booker" + suffix + "@yandex.ru")).getId();
+        itemId = itemService.createItem(new ItemDto(0, "Дрель", "Ударная", true), ownerId).getId();
+        start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    @Test
+    void concurrentOverlappingBookingsShouldAdmitExactlyOne() throws Exception {
+        List<Future<BookingDto>> results = submit(attempt -> booking(start, start.plusDays(2)));
+
+        int created = 0;
+        for (Future<BookingDto> result : results) {
+            try {
+                result.get();
+                created++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(ConflictException.class, e.getCause());
+            }
+        }
+        assertEquals(1, created);
+    }
+
+    @Test
+    void concurrentDisjointBookingsShouldAllSucceed() throws Exception {
+        List<Future<BookingDto>> results = submit(attempt ->
+                booking(start.plusDays(attempt), start.plusDays(attempt + 1)));
+
+        for (Future<BookingDto> result : results) {
+            result.get();
+        }
+    }
+
+    private List<Future<BookingDto>> submit(IntFunction<BookingDto> bookings) {
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<BookingDto>> results = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            BookingDto booking = bookings.apply(i);
+            results.add(executor.submit(() -> {
+                startGate.await();
+                return bookingService.createBooking(booking, bookerId);
+            }));
+        }
+        startGate.countDown();
+        return results;
+    }
+
+    private BookingDto booking(LocalDateTime bookingStart, LocalDateTime bookingEnd) {
+        return BookingDto.builder()
+                .itemId(itemId)
+                .start(bookingStart)
+                .end(bookingEnd)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+}
@@ -10,17 +10,26 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.NotFoundException;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -79,6 +88,35 @@ public class BookingControllerTest {
         verify(bookingService, times(1)).updateBookingStatus(eq(1L), eq(1L), eq(true));
     }
 
+    @Test
+    void updateBookingStatusesShouldReturnUpdatedBookings() throws Exception {
+        bookingDto.setStatus(Status.REJECTED);
+        when(bookingService.updateBookingStatuses(eq(1L), eq(List.of(1L)), eq(false))).thenReturn(List.of(bookingDto));
+
+        mockMvc.perform(patch("/bookings")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("approved", "false")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(bookingDto.getId()))
+                .andExpect(jsonPath("$[0].status").value("REJECTED"));
+    }
+
+    @Test
+    void createBookingsShouldReturnCreatedBookings() throws Exception {
+        when(bookingService.createBookings(any(), eq(1L))).thenReturn(List.of(bookingDto));
+
+        mockMvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(objectMapper.writeValueAsString(List.of(bookingDto))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(bookingDto.getId()));
+
+        verify(bookingService, times(1)).createBookings(any(), eq(1L));
+    }
+
     @Test
     void getBookingShouldReturnBooking() throws Exception {
         when(bookingService.getBookingById(eq(1L), eq(1L))).thenReturn(bookingDto);
@@ -93,7 +131,7 @@ public class BookingControllerTest {
 
     @Test
     void getUserBookingsShouldReturnListOfBookings() throws Exception {
-        when(bookingService.getUserBookings(eq(1L), eq("ALL"))).thenReturn(List.of(bookingDto));
+        when(bookingService.getUserBookings(eq(1L), eq("ALL"), eq(0), eq(10), isNull())).thenReturn(List.of(bookingDto));
 
         mockMvc.perform(get("/bookings")
                         .header("X-Sharer-User-Id", 1L)
@@ -102,20 +140,58 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$.size()").value(1))
                 .andExpect(jsonPath("$[0].id").value(bookingDto.getId()));
 
-        verify(bookingService, times(1)).getUserBookings(eq(1L), eq("ALL"));
+        verify(bookingService, times(1)).getUserBookings(eq(1L), eq("ALL"), eq(0), eq(10), isNull());
     }
 
     @Test
     void getOwnerBookingsShouldReturnListOfBookings() throws Exception {
-        when(bookingService.getOwnerBookings(eq(1L), eq("ALL"))).thenReturn(List.of(bookingDto));
+        when(bookingService.getOwnerBookings(eq(1L), eq("ALL"), eq(0), eq(1), isNull())).thenReturn(List.of(bookingDto));
 
         mockMvc.perform(get("/bookings/owner")
                         .header("X-Sharer-User-Id", 1L)
-                        .param("state", "ALL"))
+                        .param("state", "ALL")
+                        .param("size", "1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(BookingCursor.HEADER, BookingCursor.encode(bookingDto)))
                 .andExpect(jsonPath("$.size()").value(1))
                 .andExpect(jsonPath("$[0].id").value(bookingDto.getId()));
 
-        verify(bookingService, times(1)).getOwnerBookings(eq(1L), eq("ALL"));
+        verify(bookingService, times(1)).getOwnerBookings(eq(1L), eq("ALL"), eq(0), eq(1), isNull());
+    }
+
+    @Test
+    void getOwnerBookingsShouldStreamNdjsonWhenRequested() throws Exception {
+        BookingDto secondBooking = BookingDto.builder().id(2L).status(Status.APPROVED).build();
+        doAnswer(invocation -> {
+            Consumer<BookingDto> consumer = invocation.getArgument(2);
+            consumer.accept(bookingDto);
+            consumer.accept(secondBooking);
+            return null;
+        }).when(bookingService).streamOwnerBookings(eq(1L), eq("ALL"), any());
+
+        String body = mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept("application/x-ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(1L, objectMapper.readValue(lines[0], BookingDto.class).getId());
+        assertEquals(2L, objectMapper.readValue(lines[1], BookingDto.class).getId());
+        verify(bookingService, never()).getOwnerBookings(anyLong(), any(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void getOwnerBookingsStreamShouldReturnNotFoundForUnknownUser() throws Exception {
+        doThrow(new NotFoundException("Пользователь с ID 1 не найден"))
+                .when(bookingService).streamOwnerBookings(eq(1L), eq("ALL"), any());
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept("application/x-ndjson", MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isNotFound());
     }
 }
+
@@ -0,0 +1,167 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dal.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
+import ru.practicum.shareit.booking.interval.BookingOverlapConstraint;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class BookingIntervalIndexTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private BookingRepository bookingRepository;
+    private BookingOverlapConstraint overlapConstraint;
+    private BookingIntervalIndex bookingIntervalIndex;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        overlapConstraint = mock(BookingOverlapConstraint.class);
+        when(overlapConstraint.isEnforced()).thenReturn(true);
+        bookingIntervalIndex = new BookingIntervalIndex(bookingRepository, overlapConstraint, 100);
+        item = new Item(1L, "Item", "description", true, 1L, null);
+        when(bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(anyLong(), any(), any(), any()))
+                .thenReturn(true);
+    }
+
+    @Test
+    void overlapsShouldLoadActiveBookingsOnce() {
+        when(bookingRepository.findIntervals(eq(item.getId()), any()))
+                .thenReturn(List.of(interval(1L, 10, 12), interval(2L, 2, 4)));
+
+        assertTrue(bookingIntervalIndex.overlaps(item.getId(), DAY.plusDays(3), DAY.plusDays(5)));
+        assertTrue(bookingIntervalIndex.overlaps(item.getId(), DAY.plusDays(11), DAY.plusDays(11).plusHours(1)));
+        assertFalse(bookingIntervalIndex.overlaps(item.getId(), DAY.plusDays(4), DAY.plusDays(10)));
+        assertFalse(bookingIntervalIndex.overlaps(item.getId(), DAY, DAY.plusDays(2)));
+        assertFalse(bookingIntervalIndex.overlaps(item.getId(), DAY.plusDays(12), DAY.plusDays(20)));
+        verify(bookingRepository, times(1)).findIntervals(eq(item.getId()), any());
+    }
+
+    @Test
+    void overlapsShouldSeeIntervalCoveringEarlierOnes() {
+        when(bookingRepository.findIntervals(eq(item.getId()), any()))
+                .thenReturn(List.of(interval(1L, 0, 30), interval(2L, 5, 6)));
+
+        assertTrue(bookingIntervalIndex.overlaps(item.getId(), DAY.plusDays(20), DAY.plusDays(21)));
+    }
+
+    @Test
+    void negativeAnswerShouldNotQueryDatabase() {
+        when(bookingRepository.findIntervals(eq(item.getId()), any())).thenReturn(List.of(interval(1L, 10, 12)));
+
+        assertFalse(bookingIntervalIndex.overlaps(item.getId(), DAY, DAY.plusDays(2)));
+        verify(bookingRepository, never()).existsByItemIdAndStatusInAndStartBeforeAndEndAfter(any(), any(), any(), any());
+    }
+
+    @Test
+    void negativeAnswerShouldBeCheckedAgainstDatabaseWithoutConstraint() {
+        when(overlapConstraint.isEnforced()).thenReturn(false);
+        when(bookingRepository.findIntervals(eq(item.getId()), any())).thenReturn(List.of());
+
+        assertTrue(bookingIntervalIndex.overlaps(item.getId(), DAY, DAY.plusDays(1)));
+        assertTrue(bookingIntervalIndex.overlaps(item.getId(), DAY, DAY.plusDays(1)));
+        verify(bookingRepository, times(2)).findIntervals(eq(item.getId()), any());
+    }
+
+    @Test
+    void staleOverlapShouldBeCheckedAgainstDatabaseAndReloaded() {
+        when(bookingRepository.findIntervals(eq(item.getId()), any()))
+                .thenReturn(List.of(interval(1L, 10, 12)))
+                .thenReturn(List.of());
+        when(bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(eq(item.getId()), any(), any(), any()))
+                .thenReturn(false);
+
+        assertFalse(bookingIntervalIndex.overlaps(item.getId(), DAY.plusDays(11), DAY.plusDays(13)));
+        assertFalse(bookingIntervalIndex.overlaps(item.getId(), DAY.plusDays(11), DAY.plusDays(13)));
+        verify(bookingRepository, times(2)).findIntervals(eq(item.getId()), any());
+        verify(bookingRepository, times(1)).existsByItemIdAndStatusInAndStartBeforeAndEndAfter(any(), any(), any(), any());
+    }
+
+    @Test
+    void evictShouldReloadItemOnNextCheck() {
+        bookingIntervalIndex.overlaps(item.getId(), DAY, DAY.plusDays(1));
+
+        bookingIntervalIndex.evict(List.of(item.getId()));
+        bookingIntervalIndex.overlaps(item.getId(), DAY, DAY.plusDays(1));
+
+        verify(bookingRepository, times(2)).findIntervals(eq(item.getId()), any());
+    }
+
+    @Test
+    void addAndRemoveShouldUpdateLoadedItem() {
+        bookingIntervalIndex.overlaps(item.getId(), DAY, DAY.plusDays(1));
+        Booking booking = booking(7L, 3, 5, Status.WAITING);
+
+        bookingIntervalIndex.add(booking);
+        assertTrue(bookingIntervalIndex.overlaps(item.getId(), DAY.plusDays(4), DAY.plusDays(6)));
+
+        bookingIntervalIndex.remove(booking);
+        assertFalse(bookingIntervalIndex.overlaps(item.getId(), DAY.plusDays(4), DAY.plusDays(6)));
+    }
+
+    @Test
+    void addShouldIgnoreInactiveBookings() {
+        bookingIntervalIndex.overlaps(item.getId(), DAY, DAY.plusDays(1));
+
+        bookingIntervalIndex.add(booking(7L, 3, 5, Status.REJECTED));
+
+        assertFalse(bookingIntervalIndex.overlaps(item.getId(), DAY.plusDays(4), DAY.plusDays(6)));
+    }
+
+    @Test
+    void addShouldBeUndoneWhenTransactionRollsBack() {
+        bookingIntervalIndex.overlaps(item.getId(), DAY, DAY.plusDays(1));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bookingIntervalIndex.add(booking(7L, 3, 5, Status.WAITING));
+            assertTrue(bookingIntervalIndex.overlaps(item.getId(), DAY.plusDays(4), DAY.plusDays(6)));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertFalse(bookingIntervalIndex.overlaps(item.getId(), DAY.plusDays(4), DAY.plusDays(6)));
+    }
+
+    private Booking booking(long id, int startDay, int endDay, Status status) {
+        return new Booking(id, DAY.plusDays(startDay), DAY.plusDays(endDay), item, null, status);
+    }
+
+    private static BookingInterval interval(long id, int startDay, int endDay) {
+        return new BookingInterval() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getStart() {
+                return DAY.plusDays(startDay);
+            }
+
+            @Override
+            public LocalDateTime getEnd() {
+                return DAY.plusDays(endDay);
+            }
+        };
+    }
+}
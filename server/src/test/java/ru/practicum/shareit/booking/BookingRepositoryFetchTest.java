@@ -0,0 +1,112 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.ScrollPosition;
+import ru.practicum.shareit.booking.dal.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingRepositoryFetchTest {
+    private static final int BOOKINGS = 1000;
+    private static final int ITEMS = 100;
+    private static final int BOOKERS = 50;
+
+    private final BookingRepository bookingRepository;
+    private final TestEntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private User booker;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        owner = entityManager.persist(new User(0L, "Owner", "owner@yandex.ru"));
+
+        List<User> bookers = new ArrayList<>();
+        for (int i = 0; i < BOOKERS; i++) {
+            bookers.add(entityManager.persist(new User(0L, "Booker " + i, "booker" + i + "@yandex.ru")));
+        }
+        booker = bookers.get(0);
+
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(entityManager.persist(new Item(null, "Item " + i, "description", true, owner.getId(), null)));
+        }
+
+        LocalDateTime start = LocalDateTime.now().minusYears(1);
+        for (int i = 0; i < BOOKINGS; i++) {
+            entityManager.persist(new Booking(null, start.plusHours(i), start.plusHours(i + 1),
+                    items.get(i % ITEMS), bookers.get(i % BOOKERS), Status.APPROVED));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void ownerBookingsShouldLoadInOneStatement() {
+        List<BookingDto> bookings = bookingRepository.findOwnerBookingDtos(owner.getId(), State.ALL,
+                LocalDateTime.now(), ScrollPosition.offset(), BOOKINGS);
+
+        assertEquals(BOOKINGS, bookings.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void bookerBookingsShouldLoadInOneStatement() {
+        List<BookingDto> bookings = bookingRepository.findBookerBookingDtos(booker.getId(), State.ALL,
+                LocalDateTime.now(), ScrollPosition.offset(), BOOKINGS);
+
+        assertEquals(BOOKINGS / BOOKERS, bookings.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void keysetPageShouldLoadInOneStatement() {
+        ScrollPosition position = ScrollPosition.forward(Map.of("start", LocalDateTime.now(), "id", Long.MAX_VALUE));
+
+        List<BookingDto> bookings = bookingRepository.findOwnerBookingDtos(owner.getId(), State.ALL,
+                LocalDateTime.now(), position, BOOKINGS);
+
+        assertEquals(BOOKINGS, bookings.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void ownerBookingStreamShouldLoadDtosInOneStatementWithoutManagingEntities() {
+        try (Stream<BookingDto> bookings = bookingRepository.streamOwnerBookingDtos(owner.getId(), State.ALL,
+                LocalDateTime.now())) {
+            assertEquals(BOOKINGS, bookings.toList().size());
+        }
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
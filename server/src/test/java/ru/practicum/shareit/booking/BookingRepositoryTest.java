@@ -7,7 +7,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import ru.practicum.shareit.booking.dal.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.ItemBookingDate;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.item.dal.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
@@ -15,7 +20,9 @@ import ru.practicum.shareit.user.dal.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -46,51 +53,122 @@ public class BookingRepositoryTest {
         item.setOwner(user.getId());
         item = itemRepository.save(item);
 
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
         pastBooking = new Booking();
         pastBooking.setItem(item);
         pastBooking.setBooker(user);
-        pastBooking.setStart(LocalDateTime.now().minusDays(10));
-        pastBooking.setEnd(LocalDateTime.now().minusDays(5));
+        pastBooking.setStart(now.minusDays(10));
+        pastBooking.setEnd(now.minusDays(5));
         pastBooking.setStatus(Status.APPROVED);
         pastBooking = bookingRepository.save(pastBooking);
 
         futureBooking = new Booking();
         futureBooking.setItem(item);
         futureBooking.setBooker(user);
-        futureBooking.setStart(LocalDateTime.now().plusDays(5));
-        futureBooking.setEnd(LocalDateTime.now().plusDays(10));
+        futureBooking.setStart(now.plusDays(5));
+        futureBooking.setEnd(now.plusDays(10));
         futureBooking.setStatus(Status.APPROVED);
         futureBooking = bookingRepository.save(futureBooking);
     }
 
     @Test
-    void findLastBookings_ShouldReturnPastBookings() {
-        List<Booking> lastBookings = bookingRepository.findLastBookings(List.of(item));
+    void streamOwnerBookings_ShouldReturnBookingsNewestFirst() {
+        try (Stream<BookingDto> bookings = bookingRepository.streamOwnerBookingDtos(user.getId(), State.ALL,
+                LocalDateTime.now())) {
+            assertEquals(List.of(futureBooking.getId(), pastBooking.getId()),
+                    bookings.map(BookingDto::getId).toList());
+        }
+    }
+
+    @Test
+    void streamOwnerBookings_ShouldFilterByState() {
+        try (Stream<BookingDto> bookings = bookingRepository.streamOwnerBookingDtos(user.getId(), State.FUTURE,
+                LocalDateTime.now())) {
+            assertEquals(List.of(futureBooking.getId()), bookings.map(BookingDto::getId).toList());
+        }
+    }
+
+    @Test
+    void updateStatus_ShouldOnlyChangeBookingsInExpectedStatus() {
+        Booking waitingBooking = bookingRepository.save(new Booking(null, futureBooking.getStart().plusDays(10),
+                futureBooking.getEnd().plusDays(10), item, user, Status.WAITING));
+
+        int updated = bookingRepository.updateStatus(List.of(waitingBooking.getId(), pastBooking.getId()),
+                Status.WAITING, Status.REJECTED);
+
+        assertEquals(1, updated);
+        assertEquals(Status.REJECTED, bookingRepository.findById(waitingBooking.getId()).orElseThrow().getStatus());
+        assertEquals(Status.APPROVED, bookingRepository.findById(pastBooking.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void findLastBookingEnds_ShouldReturnLatestPastEndPerItem() {
+        Booking olderBooking = new Booking(null, pastBooking.getStart().minusDays(10),
+                pastBooking.getEnd().minusDays(10), item, user, Status.APPROVED);
+        bookingRepository.save(olderBooking);
+
+        List<ItemBookingDate> lastBookings = bookingRepository.findLastBookingEnds(List.of(item.getId()), LocalDateTime.now());
         assertEquals(1, lastBookings.size());
-        assertEquals(pastBooking.getId(), lastBookings.get(0).getId());
+        assertEquals(item.getId(), lastBookings.get(0).getItemId());
+        assertEquals(pastBooking.getEnd(), lastBookings.get(0).getDate());
     }
 
     @Test
-    void findNextBookings_ShouldReturnFutureBookings() {
-        List<Booking> nextBookings = bookingRepository.findNextBookings(List.of(item));
+    void findNextBookingStarts_ShouldReturnEarliestFutureStartPerItem() {
+        Booking laterBooking = new Booking(null, futureBooking.getStart().plusDays(10),
+                futureBooking.getEnd().plusDays(10), item, user, Status.APPROVED);
+        bookingRepository.save(laterBooking);
+
+        List<ItemBookingDate> nextBookings = bookingRepository.findNextBookingStarts(List.of(item.getId()), LocalDateTime.now());
         assertEquals(1, nextBookings.size());
-        assertEquals(futureBooking.getId(), nextBookings.get(0).getId());
+        assertEquals(item.getId(), nextBookings.get(0).getItemId());
+        assertEquals(futureBooking.getStart(), nextBookings.get(0).getDate());
     }
 
     @Test
-    void findLastBookings_ShouldReturnEmptyList_WhenNoPastBookings() {
+    void findLastBookingEnds_ShouldReturnEmptyList_WhenNoPastBookings() {
         bookingRepository.delete(pastBooking);
-        List<Booking> lastBookings = bookingRepository.findLastBookings(List.of(item));
+        List<ItemBookingDate> lastBookings = bookingRepository.findLastBookingEnds(List.of(item.getId()), LocalDateTime.now());
         assertTrue(lastBookings.isEmpty());
     }
 
     @Test
-    void findNextBookings_ShouldReturnEmptyList_WhenNoFutureBookings() {
+    void findNextBookingStarts_ShouldReturnEmptyList_WhenNoFutureBookings() {
         bookingRepository.delete(futureBooking);
-        List<Booking> nextBookings = bookingRepository.findNextBookings(List.of(item));
+        List<ItemBookingDate> nextBookings = bookingRepository.findNextBookingStarts(List.of(item.getId()), LocalDateTime.now());
         assertTrue(nextBookings.isEmpty());
     }
 
+    @Test
+    void findBookerBookingDtos_ShouldSkipFromBookingsWithOffsetPosition() {
+        List<BookingDto> bookings = bookingRepository.findBookerBookingDtos(
+                user.getId(), State.ALL, LocalDateTime.now(), BookingCursor.toScrollPosition(null, 1), 10);
+        assertEquals(1, bookings.size());
+        assertEquals(pastBooking.getId(), bookings.get(0).getId());
+    }
+
+    @Test
+    void findBookerBookingDtos_ShouldContinueAfterKeysetCursor() {
+        List<BookingDto> firstPage = bookingRepository.findBookerBookingDtos(
+                user.getId(), State.ALL, LocalDateTime.now(), BookingCursor.toScrollPosition(null, 0), 1);
+        assertEquals(futureBooking.getId(), firstPage.get(0).getId());
+
+        String cursor = BookingCursor.encode(firstPage.get(0));
+        List<BookingDto> secondPage = bookingRepository.findBookerBookingDtos(
+                user.getId(), State.ALL, LocalDateTime.now(), BookingCursor.toScrollPosition(cursor, 0), 1);
+        assertEquals(1, secondPage.size());
+        assertEquals(pastBooking.getId(), secondPage.get(0).getId());
+    }
+
+    @Test
+    void findOwnerBookingDtos_ShouldFilterByState() {
+        List<BookingDto> bookings = bookingRepository.findOwnerBookingDtos(
+                user.getId(), State.PAST, LocalDateTime.now(), BookingCursor.toScrollPosition(null, 0), 10);
+        assertEquals(1, bookings.size());
+        assertEquals(BookingMapper.toBookingDto(pastBooking), bookings.get(0));
+    }
+
     @AfterEach
     void tearDown() {
         bookingRepository.deleteAll();
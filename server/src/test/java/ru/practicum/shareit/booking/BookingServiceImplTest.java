@@ -2,26 +2,39 @@ package ru.practicum.shareit.booking;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
 import ru.practicum.shareit.booking.dal.BookingRepository;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
+import ru.practicum.shareit.booking.interval.BookingOverlapConstraint;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dal.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemSummaryService;
 import ru.practicum.shareit.user.dal.UserRepository;
+import ru.practicum.shareit.user.filter.UserIdFilter;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 public class BookingServiceImplTest {
@@ -46,7 +59,9 @@ public class BookingServiceImplTest {
         bookingRepository = mock(BookingRepository.class);
         userRepository = mock(UserRepository.class);
         itemRepository = mock(ItemRepository.class);
-        bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository);
+        bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository,
+                mock(ItemSummaryService.class), new UserIdFilter(userRepository, 1000, 0.01),
+                new BookingIntervalIndex(bookingRepository, mock(BookingOverlapConstraint.class), 100));
 
         user = new User(1L, "User", "user@yandex.ru");
         item = new Item(1L, "Item", "description", true, user.getId(), null);
@@ -66,15 +81,116 @@ public class BookingServiceImplTest {
     @Test
     void createBookingShouldSaveBooking() {
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
-        when(bookingRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
+        when(bookingRepository.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
 
         BookingDto result = bookingService.createBooking(bookingDto, user.getId());
 
         assertNotNull(result);
         assertEquals(bookingDto.getId(), result.getId());
         assertEquals(bookingDto.getItem(), result.getItem());
-        verify(bookingRepository, times(1)).save(any());
+        verify(bookingRepository, times(1)).saveAndFlush(any());
+    }
+
+    @Test
+    void createBookingShouldThrowConflictExceptionWhenPeriodOverlaps() {
+        when(bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(eq(item.getId()), any(), any(), any()))
+                .thenReturn(false, true);
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
+        when(bookingRepository.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        bookingService.createBooking(bookingDto, user.getId());
+
+        BookingDto overlapping = BookingDto.builder()
+                .itemId(item.getId())
+                .start(bookingDto.getStart().plusHours(12))
+                .end(bookingDto.getEnd().plusDays(1))
+                .build();
+
+        assertThrows(ConflictException.class, () -> bookingService.createBooking(overlapping, user.getId()));
+        verify(bookingRepository, times(1)).saveAndFlush(any());
+        verify(bookingRepository, times(1)).findIntervals(eq(item.getId()), any());
+    }
+
+    @Test
+    void createBookingShouldAcceptPeriodAfterRejectedBooking() {
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
+        when(bookingRepository.saveAndFlush(any())).thenAnswer(invocation -> {
+            Booking saved = invocation.getArgument(0);
+            saved.setId(booking.getId());
+            return saved;
+        });
+        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
+        bookingService.createBooking(bookingDto, user.getId());
+
+        bookingService.updateBookingStatus(user.getId(), booking.getId(), false);
+
+        assertDoesNotThrow(() -> bookingService.createBooking(bookingDto, user.getId()));
+    }
+
+    @Test
+    void createBookingShouldThrowConflictExceptionWhenConstraintRejectsBooking() {
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
+        when(bookingRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("overlap"));
+
+        assertThrows(ConflictException.class, () -> bookingService.createBooking(bookingDto, user.getId()));
+    }
+
+    @Test
+    void createBookingsShouldPersistAllAndFlushOnce() {
+        BookingDto laterDto = BookingDto.builder()
+                .itemId(item.getId())
+                .start(bookingDto.getEnd())
+                .end(bookingDto.getEnd().plusDays(1))
+                .build();
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(itemRepository.findAllByIdForUpdate(any())).thenReturn(List.of(item));
+        AtomicLong ids = new AtomicLong();
+        when(bookingRepository.save(any())).thenAnswer(invocation -> {
+            Booking saved = invocation.getArgument(0);
+            saved.setId(ids.incrementAndGet());
+            return saved;
+        });
+
+        List<BookingDto> result = bookingService.createBookings(List.of(bookingDto, laterDto), user.getId());
+
+        assertEquals(2, result.size());
+        verify(bookingRepository, times(2)).save(any());
+        verify(bookingRepository, times(1)).flush();
+        verify(bookingRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void createBookingsShouldThrowConflictExceptionWhenBatchOverlapsItself() {
+        when(bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(eq(item.getId()), any(), any(), any()))
+                .thenReturn(true);
+        BookingDto overlappingDto = BookingDto.builder()
+                .itemId(item.getId())
+                .start(bookingDto.getStart().plusHours(1))
+                .end(bookingDto.getEnd().plusHours(1))
+                .build();
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(itemRepository.findAllByIdForUpdate(any())).thenReturn(List.of(item));
+        when(bookingRepository.save(any())).thenAnswer(invocation -> {
+            Booking saved = invocation.getArgument(0);
+            saved.setId(booking.getId());
+            return saved;
+        });
+
+        assertThrows(ConflictException.class, () ->
+                bookingService.createBookings(List.of(bookingDto, overlappingDto), user.getId()));
+        verify(bookingRepository, never()).flush();
+    }
+
+    @Test
+    void createBookingsShouldThrowNotFoundExceptionWhenItemMissing() {
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(itemRepository.findAllByIdForUpdate(any())).thenReturn(List.of());
+
+        assertThrows(NotFoundException.class, () -> bookingService.createBookings(List.of(bookingDto), user.getId()));
+        verify(bookingRepository, never()).save(any());
     }
 
     @Test
@@ -87,7 +203,7 @@ public class BookingServiceImplTest {
     @Test
     void createBookingShouldThrowNotFoundExceptionWhenItemNotFound() {
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> bookingService.createBooking(bookingDto, user.getId()));
     }
@@ -96,7 +212,7 @@ public class BookingServiceImplTest {
     void createBookingShouldThrowValidationExceptionWhenItemNotAvailable() {
         item.setAvailable(false);
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
 
         assertThrows(ValidationException.class, () -> bookingService.createBooking(bookingDto, user.getId()));
     }
@@ -125,6 +241,56 @@ public class BookingServiceImplTest {
         assertThrows(ValidationException.class, () -> bookingService.updateBookingStatus(999L, booking.getId(), true));
     }
 
+    @Test
+    void updateBookingStatusesShouldApplyOneBulkUpdate() {
+        List<Long> ids = List.of(booking.getId(), waitingBooking.getId());
+        when(bookingRepository.findByIdIn(any())).thenReturn(List.of(waitingBooking, booking));
+        when(bookingRepository.updateStatus(any(), eq(Status.WAITING), eq(Status.APPROVED))).thenReturn(2);
+
+        List<BookingDto> result = bookingService.updateBookingStatuses(user.getId(), ids, true);
+
+        assertEquals(ids, result.stream().map(BookingDto::getId).toList());
+        assertTrue(result.stream().allMatch(dto -> dto.getStatus() == Status.APPROVED));
+        verify(bookingRepository, times(1)).updateStatus(any(), eq(Status.WAITING), eq(Status.APPROVED));
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void updateBookingStatusesShouldThrowNotFoundExceptionWhenBookingMissing() {
+        when(bookingRepository.findByIdIn(any())).thenReturn(List.of(booking));
+
+        assertThrows(NotFoundException.class, () ->
+                bookingService.updateBookingStatuses(user.getId(), List.of(booking.getId(), 999L), true));
+        verify(bookingRepository, never()).updateStatus(any(), any(), any());
+    }
+
+    @Test
+    void updateBookingStatusesShouldThrowValidationExceptionWhenUserNotOwner() {
+        when(bookingRepository.findByIdIn(any())).thenReturn(List.of(booking));
+
+        assertThrows(ValidationException.class, () ->
+                bookingService.updateBookingStatuses(999L, List.of(booking.getId()), false));
+        verify(bookingRepository, never()).updateStatus(any(), any(), any());
+    }
+
+    @Test
+    void updateBookingStatusesShouldThrowValidationExceptionWhenAlreadyProcessed() {
+        when(bookingRepository.findByIdIn(any())).thenReturn(List.of(booking, rejectedBooking));
+
+        assertThrows(ValidationException.class, () -> bookingService.updateBookingStatuses(user.getId(),
+                List.of(booking.getId(), rejectedBooking.getId()), true));
+        verify(bookingRepository, never()).updateStatus(any(), any(), any());
+    }
+
+    @Test
+    void updateBookingStatusesShouldThrowConflictExceptionWhenChangedConcurrently() {
+        when(bookingRepository.findByIdIn(any())).thenReturn(List.of(booking));
+        when(bookingRepository.updateStatus(any(), any(), any())).thenReturn(0);
+
+        assertThrows(ConflictException.class, () ->
+                bookingService.updateBookingStatuses(user.getId(), List.of(booking.getId()), true));
+    }
+
     @Test
     void getBookingByIdShouldReturnBooking() {
         when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
@@ -147,139 +313,170 @@ public class BookingServiceImplTest {
     @Test
     void getUserBookingsAllShouldReturnBookings() {
         when(userRepository.existsById(user.getId())).thenReturn(true);
-        when(bookingRepository.findByBookerIdOrderByStartDesc(user.getId())).thenReturn(List.of(booking));
+        when(bookingRepository.findBookerBookingDtos(eq(user.getId()), eq(State.ALL), any(), any(), anyInt()))
+                .thenReturn(dtos(List.of(booking)));
 
-        List<BookingDto> result = bookingService.getUserBookings(user.getId(), "ALL");
+        List<BookingDto> result = bookingService.getUserBookings(user.getId(), "ALL", 0, 10, null);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(bookingRepository, times(1)).findByBookerIdOrderByStartDesc(user.getId());
+        verify(bookingRepository, times(1)).findBookerBookingDtos(eq(user.getId()), eq(State.ALL), any(), any(), anyInt());
     }
 
     @Test
     void getUserBookingsREJECTEDShouldReturnBookings() {
         when(userRepository.existsById(user.getId())).thenReturn(true);
-        when(bookingRepository.findByBookerIdOrderByStartDesc(user.getId())).thenReturn(List.of(booking));
+        when(bookingRepository.findBookerBookingDtos(eq(user.getId()), eq(State.REJECTED), any(), any(), anyInt()))
+                .thenReturn(dtos(List.of()));
 
-        List<BookingDto> result = bookingService.getUserBookings(user.getId(), "REJECTED");
+        List<BookingDto> result = bookingService.getUserBookings(user.getId(), "REJECTED", 0, 10, null);
 
         assertNotNull(result);
         assertEquals(0, result.size());
-        verify(bookingRepository, times(1)).findByBookerIdAndStatusOrderByStartDesc(user.getId(), Status.REJECTED);
+        verify(bookingRepository, times(1)).findBookerBookingDtos(eq(user.getId()), eq(State.REJECTED), any(), any(), anyInt());
     }
 
     @Test
     void getOwnerBookingsShouldReturnBookings() {
         when(userRepository.existsById(user.getId())).thenReturn(true);
-        when(bookingRepository.findByItemOwnerOrderByStartDesc(user.getId())).thenReturn(List.of(booking));
+        when(bookingRepository.findOwnerBookingDtos(eq(user.getId()), eq(State.ALL), any(), any(), anyInt()))
+                .thenReturn(dtos(List.of(booking)));
 
-        List<BookingDto> result = bookingService.getOwnerBookings(user.getId(), "ALL");
+        List<BookingDto> result = bookingService.getOwnerBookings(user.getId(), "ALL", 0, 10, null);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(bookingRepository, times(1)).findByItemOwnerOrderByStartDesc(user.getId());
+        verify(bookingRepository, times(1)).findOwnerBookingDtos(eq(user.getId()), eq(State.ALL), any(), any(), anyInt());
     }
 
     @Test
     void getOwnerBookingsShouldThrowNotFoundExceptionWhenUserNotFound() {
         when(userRepository.existsById(anyLong())).thenReturn(false);
 
-        assertThrows(NotFoundException.class, () -> bookingService.getOwnerBookings(999L, "ALL"));
+        assertThrows(NotFoundException.class, () -> bookingService.getOwnerBookings(999L, "ALL", 0, 10, null));
     }
 
     @Test
     void getUserBookingsShouldReturnRejectedBookings() {
         when(userRepository.existsById(user.getId())).thenReturn(true);
-        when(bookingRepository.findByBookerIdAndStatusOrderByStartDesc(user.getId(), Status.REJECTED))
-                .thenReturn(List.of(rejectedBooking));
+        when(bookingRepository.findBookerBookingDtos(eq(user.getId()), eq(State.REJECTED), any(), any(), anyInt()))
+                .thenReturn(dtos(List.of(rejectedBooking)));
 
-        List<BookingDto> result = bookingService.getUserBookings(user.getId(), "REJECTED");
+        List<BookingDto> result = bookingService.getUserBookings(user.getId(), "REJECTED", 0, 10, null);
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(rejectedBooking.getId(), result.get(0).getId());
         verify(bookingRepository, times(1))
-                .findByBookerIdAndStatusOrderByStartDesc(user.getId(), Status.REJECTED);
+                .findBookerBookingDtos(eq(user.getId()), eq(State.REJECTED), any(), any(), anyInt());
     }
 
     @Test
     void getUserBookingsShouldReturnFutureBookings() {
         when(userRepository.existsById(user.getId())).thenReturn(true);
-        when(bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(eq(user.getId()), any()))
-                .thenReturn(List.of(futureBooking));
+        when(bookingRepository.findBookerBookingDtos(eq(user.getId()), eq(State.FUTURE), any(), any(), anyInt()))
+                .thenReturn(dtos(List.of(futureBooking)));
 
-        List<BookingDto> result = bookingService.getUserBookings(user.getId(), "FUTURE");
+        List<BookingDto> result = bookingService.getUserBookings(user.getId(), "FUTURE", 0, 10, null);
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(futureBooking.getId(), result.get(0).getId());
         verify(bookingRepository, times(1))
-                .findByBookerIdAndStartAfterOrderByStartDesc(eq(user.getId()), any());
+                .findBookerBookingDtos(eq(user.getId()), eq(State.FUTURE), any(), any(), anyInt());
     }
 
     @Test
     void getUserBookingsShouldReturnWaitingBookings() {
         when(userRepository.existsById(user.getId())).thenReturn(true);
-        when(bookingRepository.findByBookerIdAndStatusOrderByStartDesc(user.getId(), Status.WAITING))
-                .thenReturn(List.of(waitingBooking));
+        when(bookingRepository.findBookerBookingDtos(eq(user.getId()), eq(State.WAITING), any(), any(), anyInt()))
+                .thenReturn(dtos(List.of(waitingBooking)));
 
-        List<BookingDto> result = bookingService.getUserBookings(user.getId(), "WAITING");
+        List<BookingDto> result = bookingService.getUserBookings(user.getId(), "WAITING", 0, 10, null);
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(waitingBooking.getId(), result.get(0).getId());
         verify(bookingRepository, times(1))
-                .findByBookerIdAndStatusOrderByStartDesc(user.getId(), Status.WAITING);
+                .findBookerBookingDtos(eq(user.getId()), eq(State.WAITING), any(), any(), anyInt());
     }
 
     @Test
     void getUserBookingsShouldThrowNotFoundExceptionWhenUserNotFound() {
         when(userRepository.existsById(anyLong())).thenReturn(false);
 
-        assertThrows(NotFoundException.class, () -> bookingService.getUserBookings(999L, "ALL"));
-        verify(bookingRepository, never()).findByBookerIdOrderByStartDesc(anyLong());
+        assertThrows(NotFoundException.class, () -> bookingService.getUserBookings(999L, "ALL", 0, 10, null));
+        verify(bookingRepository, never()).findBookerBookingDtos(anyLong(), any(), any(), any(), anyInt());
     }
 
     @Test
     void getUserBookingsShouldReturnAllBookings() {
         when(userRepository.existsById(user.getId())).thenReturn(true);
-        when(bookingRepository.findByBookerIdOrderByStartDesc(user.getId()))
-                .thenReturn(List.of(currentBooking, pastBooking, futureBooking, waitingBooking, rejectedBooking));
+        when(bookingRepository.findBookerBookingDtos(eq(user.getId()), eq(State.ALL), any(), any(), anyInt()))
+                .thenReturn(dtos(List.of(currentBooking, pastBooking, futureBooking, waitingBooking, rejectedBooking)));
 
-        List<BookingDto> result = bookingService.getUserBookings(user.getId(), "ALL");
+        List<BookingDto> result = bookingService.getUserBookings(user.getId(), "ALL", 0, 10, null);
 
         assertNotNull(result);
         assertEquals(5, result.size());
-        verify(bookingRepository, times(1)).findByBookerIdOrderByStartDesc(user.getId());
+        verify(bookingRepository, times(1)).findBookerBookingDtos(eq(user.getId()), eq(State.ALL), any(), any(), anyInt());
     }
 
     @Test
     void getUserBookingsShouldReturnCurrentBookings() {
         when(userRepository.existsById(user.getId())).thenReturn(true);
-        when(bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(eq(user.getId()), any(), any()))
-                .thenReturn(List.of(currentBooking));
+        when(bookingRepository.findBookerBookingDtos(eq(user.getId()), eq(State.CURRENT), any(), any(), anyInt()))
+                .thenReturn(dtos(List.of(currentBooking)));
 
-        List<BookingDto> result = bookingService.getUserBookings(user.getId(), "CURRENT");
+        List<BookingDto> result = bookingService.getUserBookings(user.getId(), "CURRENT", 0, 10, null);
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(currentBooking.getId(), result.get(0).getId());
         verify(bookingRepository, times(1))
-                .findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(eq(user.getId()), any(), any());
+                .findBookerBookingDtos(eq(user.getId()), eq(State.CURRENT), any(), any(), anyInt());
     }
 
     @Test
     void getUserBookingsShouldReturnPastBookings() {
         when(userRepository.existsById(user.getId())).thenReturn(true);
-        when(bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(eq(user.getId()), any()))
-                .thenReturn(List.of(pastBooking));
+        when(bookingRepository.findBookerBookingDtos(eq(user.getId()), eq(State.PAST), any(), any(), anyInt()))
+                .thenReturn(dtos(List.of(pastBooking)));
 
-        List<BookingDto> result = bookingService.getUserBookings(user.getId(), "PAST");
+        List<BookingDto> result = bookingService.getUserBookings(user.getId(), "PAST", 0, 10, null);
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(pastBooking.getId(), result.get(0).getId());
         verify(bookingRepository, times(1))
-                .findByBookerIdAndEndBeforeOrderByStartDesc(eq(user.getId()), any());
+                .findBookerBookingDtos(eq(user.getId()), eq(State.PAST), any(), any(), anyInt());
+    }
+
+    @Test
+    void streamOwnerBookingsShouldPassEveryBookingToConsumer() {
+        when(userRepository.existsById(user.getId())).thenReturn(true);
+        when(bookingRepository.streamOwnerBookingDtos(eq(user.getId()), eq(State.ALL), any()))
+                .thenReturn(Stream.of(futureBooking, pastBooking).map(BookingMapper::toBookingDto));
+        List<BookingDto> result = new ArrayList<>();
+
+        bookingService.streamOwnerBookings(user.getId(), "ALL", result::add);
+
+        assertEquals(List.of(futureBooking.getId(), pastBooking.getId()),
+                result.stream().map(BookingDto::getId).toList());
+    }
+
+    @Test
+    void streamOwnerBookingsShouldThrowNotFoundExceptionWhenUserNotFound() {
+        when(userRepository.existsById(anyLong())).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> bookingService.streamOwnerBookings(99L, "ALL", booking -> {
+        }));
+        verify(bookingRepository, never()).streamOwnerBookingDtos(anyLong(), any(), any());
+    }
+
+    private static List<BookingDto> dtos(List<Booking> bookings) {
+        return bookings.stream()
+                .map(BookingMapper::toBookingDto)
+                .toList();
     }
 }
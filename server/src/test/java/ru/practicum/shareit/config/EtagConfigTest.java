@@ -0,0 +1,85 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.user.controller.UserController;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = {UserController.class, BookingController.class})
+@AutoConfigureMockMvc
+@Import(EtagConfig.class)
+public class EtagConfigTest {
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private BookingService bookingService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void getUserShouldReturnStrongEtagAndNotModifiedForMatchingIfNoneMatch() throws Exception {
+        when(userService.getUserById(1L)).thenReturn(new UserDto(1L, "User", "user@yandex.ru"));
+
+        String etag = mockMvc.perform(get("/users/1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertEquals('"', etag.charAt(0));
+        mockMvc.perform(get("/users/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void changedUserShouldGetNewEtag() throws Exception {
+        when(userService.getUserById(1L)).thenReturn(new UserDto(1L, "User", "user@yandex.ru"));
+        String etag = mockMvc.perform(get("/users/1"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        when(userService.getUserById(1L)).thenReturn(new UserDto(1L, "Renamed", "user@yandex.ru"));
+
+        String changedEtag = mockMvc.perform(get("/users/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(etag, changedEtag);
+    }
+
+    @Test
+    void singleBookingShouldHaveEtagButBookingListsShouldNot() throws Exception {
+        when(bookingService.getBookingById(1L, 2L)).thenReturn(new BookingDto());
+        when(bookingService.getOwnerBookings(eq(1L), any(), anyInt(), anyInt(), any())).thenReturn(List.of());
+
+        mockMvc.perform(get("/bookings/2").header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG));
+        mockMvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+}
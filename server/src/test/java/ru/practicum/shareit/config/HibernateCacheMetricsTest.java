@@ -0,0 +1,44 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dal.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(HibernateCacheMetrics.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class HibernateCacheMetricsTest {
+    private final HibernateCacheMetrics hibernateCacheMetrics;
+    private final ItemRepository itemRepository;
+
+    @Test
+    void entityRegionHitsShouldBeExposedAsCacheMetrics() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        hibernateCacheMetrics.bindTo(registry);
+        Item item = new Item(0L, "Дрель", "Ударная", true, 1L);
+        item.setId(null);
+        item = itemRepository.save(item);
+        double hits = hits(registry);
+
+        itemRepository.findById(item.getId());
+        itemRepository.findById(item.getId());
+
+        Assertions.assertTrue(hits(registry) > hits);
+        Assertions.assertNotNull(registry.find("cache.gets").tags("cache", "itemsByOwner", "result", "miss")
+                .functionCounter());
+    }
+
+    private static double hits(MeterRegistry registry) {
+        return registry.get("cache.gets").tags("cache", "item", "result", "hit").functionCounter().count();
+    }
+}
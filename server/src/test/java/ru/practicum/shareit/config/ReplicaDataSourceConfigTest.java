@@ -0,0 +1,66 @@
+package ru.practicum.shareit.config;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary_wiring;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "shareit.datasource.replica.url=jdbc:h2:mem:replica_wiring;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;"
+                + "INIT=RUNSCRIPT FROM 'classpath:schema.sql'",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "spring.cache.type=none"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ReplicaDataSourceConfigTest {
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+    private final UserService userService;
+
+    private UserDto user;
+
+    @BeforeEach
+    void setUp() {
+        user = userService.createUser(new UserDto(0, "User", System.nanoTime() + "@yandex.ru"));
+    }
+
+    @Test
+    void jpaTransactionManagerShouldRouteByReadOnlyFlag() {
+        assertInstanceOf(JpaTransactionManager.class, transactionManager);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        assertTrue(readWrite.execute(status -> countUsers()) > 0);
+        assertEquals(Long.valueOf(0), readOnly.<Long>execute(status -> countUsers()));
+    }
+
+    @Test
+    void readOnlyServiceMethodShouldReadFromReplica() {
+        assertThrows(NotFoundException.class, () -> userService.getUserById(user.getId()));
+    }
+
+    @Test
+    void writeServiceMethodShouldReadFromPrimary() {
+        UserDto update = new UserDto();
+        update.setName("Renamed");
+
+        assertEquals("Renamed", userService.updateUser(user.getId(), update).getName());
+    }
+
+    private long countUsers() {
+        return ((Number) entityManager.createNativeQuery("SELECT COUNT(*) FROM users").getSingleResult()).longValue();
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import ru.practicum.shareit.item.dal.CommentRepository;
+import ru.practicum.shareit.item.dal.ItemRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dal.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@DataJpaTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class CommentRepositoryTest {
+    private final CommentRepository commentRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+
+    private Item firstItem;
+    private Item secondItem;
+
+    @BeforeEach
+    void setUp() {
+        User author = userRepository.save(new User(0, "Author", "author@yandex.ru"));
+        firstItem = itemRepository.save(new Item(0, "First", "description", true, author.getId()));
+        secondItem = itemRepository.save(new Item(0, "Second", "description", true, author.getId()));
+
+        commentRepository.save(new Comment(null, "old", firstItem, author, LocalDateTime.now().minusDays(1)));
+        commentRepository.save(new Comment(null, "new", firstItem, author, LocalDateTime.now()));
+        commentRepository.save(new Comment(null, "other", secondItem, author, LocalDateTime.now()));
+    }
+
+    @Test
+    void findByItemIdInWithAuthorShouldReturnCommentsOfAllItemsNewestFirst() {
+        List<Comment> comments = commentRepository.findByItemIdInWithAuthor(List.of(firstItem.getId(), secondItem.getId()));
+
+        Assertions.assertEquals(3, comments.size());
+        Assertions.assertEquals("Author", comments.get(0).getAuthor().getName());
+        Assertions.assertEquals("old", comments.get(2).getText());
+    }
+
+    @AfterEach
+    void tearDown() {
+        commentRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.item;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.practicum.shareit.item.dal.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemBatchInsertTest {
+    private static final int ITEMS = 1000;
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final ItemRepository itemRepository;
+    private final TestEntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        owner = entityManager.persistAndFlush(new User(0L, "Owner", "owner@yandex.ru"));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void saveAllShouldInsertItemsInOneBatch() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new Item(null, "Item " + i, "description", true, owner.getId(), null));
+        }
+
+        itemRepository.saveAll(items);
+        entityManager.flush();
+
+        assertEquals(ITEMS, statistics.getEntityInsertCount());
+        long sequenceCalls = ITEMS / ALLOCATION_SIZE + 1;
+        assertTrue(statistics.getPrepareStatementCount() <= sequenceCalls + 1,
+                () -> "Expected one batched insert, prepared " + statistics.getPrepareStatementCount());
+    }
+}
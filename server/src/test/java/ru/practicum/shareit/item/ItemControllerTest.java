@@ -68,6 +68,20 @@ public class ItemControllerTest {
         verify(itemService, times(1)).createItem(any(), eq(1L));
     }
 
+    @Test
+    void createItemsShouldReturnCreatedItems() throws Exception {
+        when(itemService.createItems(any(), eq(1L))).thenReturn(List.of(itemDto));
+
+        mockMvc.perform(post("/items/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(objectMapper.writeValueAsString(List.of(itemDto))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].id").value(itemDto.getId()));
+
+        verify(itemService, times(1)).createItems(any(), eq(1L));
+    }
+
     @Test
     void updateItemShouldReturnUpdatedItem() throws Exception {
         when(itemService.updateItem(any(), eq(1L), eq(1L))).thenReturn(itemDto);
@@ -99,7 +113,7 @@ public class ItemControllerTest {
 
     @Test
     void getItemsShouldReturnListOfItems() throws Exception {
-        when(itemService.getItems(1L)).thenReturn(List.of(itemDto));
+        when(itemService.getItems(1L, 0, 10)).thenReturn(List.of(itemDto));
 
         mockMvc.perform(get("/items")
                         .header("X-Sharer-User-Id", 1L))
@@ -108,7 +122,7 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$[0].id").value(itemDto.getId()))
                 .andExpect(jsonPath("$[0].name").value(itemDto.getName()));
 
-        verify(itemService, times(1)).getItems(1L);
+        verify(itemService, times(1)).getItems(1L, 0, 10);
     }
 
     @Test
@@ -7,8 +7,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.item.dal.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.Pagination;
 
 import java.util.List;
 
@@ -32,11 +35,27 @@ public class ItemRepositoryTest {
 
     @Test
     void findByOwnerIdShouldReturnItemsOwnedByUser() {
-        List<Item> items = itemRepository.findByOwnerId(1L);
+        List<Item> items = itemRepository.findByOwnerId(1L, PageRequest.of(0, 10));
         Assertions.assertEquals(1, items.size());
         Assertions.assertEquals("Name", items.get(0).getName());
     }
 
+    @Test
+    void findByOwnerIdShouldStartAtExactOffset() {
+        for (String name : List.of("A", "B", "C")) {
+            Item owned = new Item();
+            owned.setName(name);
+            owned.setDescription("description");
+            owned.setAvailable(true);
+            owned.setOwner(2L);
+            itemRepository.save(owned);
+        }
+
+        List<Item> items = itemRepository.findByOwnerId(2L, Pagination.of(1, 2, Sort.by("id")));
+
+        Assertions.assertEquals(List.of("B", "C"), items.stream().map(Item::getName).toList());
+    }
+
     @Test
     void searchShouldReturnAvailableItemsByName() {
         List<Item> items = itemRepository.search("name");
@@ -51,6 +70,13 @@ public class ItemRepositoryTest {
         Assertions.assertEquals("description", items.get(0).getDescription().toLowerCase());
     }
 
+    @Test
+    void searchByTrigramShouldReturnAvailableItemsIgnoringCase() {
+        List<Item> items = itemRepository.searchByTrigram("ESCRIPT");
+        Assertions.assertEquals(1, items.size());
+        Assertions.assertEquals("Name", items.get(0).getName());
+    }
+
     @Test
     void search_ShouldReturnEmptyList_WhenNoAvailableItems() {
         List<Item> items = itemRepository.search("qwerty");
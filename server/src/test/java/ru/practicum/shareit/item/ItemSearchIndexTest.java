@@ -0,0 +1,170 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dal.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchRow;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class ItemSearchIndexTest {
+    private ItemSearchIndex itemSearchIndex;
+    private ItemRepository itemRepository;
+
+    private Item drill;
+    private Item screwdriver;
+    private Item unavailable;
+
+    @BeforeEach
+    void setUp() {
+        drill = new Item(1L, "Дрель", "Аккумуляторная дрель", true, 1L);
+        screwdriver = new Item(2L, "Отвертка", "Подходит к дрели", true, 2L);
+        unavailable = new Item(3L, "Дрель ударная", "Сломана", false, 1L);
+
+        itemRepository = mock(ItemRepository.class);
+        when(itemRepository.findSearchRowsAfter(anyLong(), any(Limit.class)))
+                .thenReturn(List.of(row(drill), row(screwdriver), row(unavailable)));
+
+        itemSearchIndex = new ItemSearchIndex(itemRepository);
+        itemSearchIndex.rebuild();
+    }
+
+    @Test
+    void searchShouldRankNameMatchesFirst() {
+        List<ItemDto> result = itemSearchIndex.search("ДРЕЛ");
+
+        assertEquals(2, result.size());
+        assertEquals(drill.getId(), result.get(0).getId());
+        assertEquals(screwdriver.getId(), result.get(1).getId());
+    }
+
+    @Test
+    void searchShouldSkipUnavailableItems() {
+        assertTrue(itemSearchIndex.search("ударная").isEmpty());
+    }
+
+    @Test
+    void searchShouldMatchShortQueries() {
+        List<ItemDto> result = itemSearchIndex.search("от");
+
+        assertEquals(1, result.size());
+        assertEquals(screwdriver.getId(), result.get(0).getId());
+    }
+
+    @Test
+    void searchShouldMatchSingleCharacterQueriesThroughPostings() {
+        List<ItemDto> result = itemSearchIndex.search("к");
+
+        assertEquals(List.of(screwdriver.getId(), drill.getId()), result.stream().map(ItemDto::getId).toList());
+        assertTrue(itemSearchIndex.search("щ").isEmpty());
+    }
+
+    @Test
+    void rebuildShouldKeepUpdatesCommittedWhileLoading() {
+        Item hammer = new Item(4L, "Молоток", "Тяжелый", true, 1L);
+        when(itemRepository.findSearchRowsAfter(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            itemSearchIndex.index(hammer);
+            itemSearchIndex.removeByOwner(2L);
+            return List.of(row(drill), row(screwdriver), row(unavailable));
+        });
+
+        itemSearchIndex.rebuild();
+
+        assertEquals(hammer.getId(), itemSearchIndex.search("молоток").get(0).getId());
+        assertTrue(itemSearchIndex.search("отвертка").isEmpty());
+    }
+
+    @Test
+    void indexShouldReplacePreviousVersionOfItem() {
+        drill.setName("Перфоратор");
+        drill.setDescription("Мощный");
+        itemSearchIndex.index(drill);
+
+        assertEquals(1, itemSearchIndex.search("дрел").size());
+        assertEquals(drill.getId(), itemSearchIndex.search("перфоратор").get(0).getId());
+    }
+
+    @Test
+    void removeByOwnerShouldDropOwnerItems() {
+        itemSearchIndex.removeByOwner(2L);
+
+        assertTrue(itemSearchIndex.search("отвертка").isEmpty());
+        assertEquals(1, itemSearchIndex.search("дрель").size());
+    }
+
+    @Test
+    void indexShouldApplyOnlyAfterCommit() {
+        Item hammer = new Item(4L, "Молоток", "Тяжелый", true, 1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itemSearchIndex.index(hammer);
+            assertTrue(itemSearchIndex.search("молоток").isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(hammer.getId(), itemSearchIndex.search("молоток").get(0).getId());
+    }
+
+    @Test
+    void indexShouldBeDiscardedOnRollback() {
+        Item hammer = new Item(4L, "Молоток", "Тяжелый", true, 1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itemSearchIndex.index(hammer);
+            itemSearchIndex.removeByOwner(2L);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(itemSearchIndex.search("молоток").isEmpty());
+        assertEquals(1, itemSearchIndex.search("отвертка").size());
+    }
+
+    private static ItemSearchRow row(Item item) {
+        return new ItemSearchRow() {
+            @Override
+            public Long getId() {
+                return item.getId();
+            }
+
+            @Override
+            public Long getOwner() {
+                return item.getOwner();
+            }
+
+            @Override
+            public Boolean getAvailable() {
+                return item.isAvailable();
+            }
+
+            @Override
+            public String getName() {
+                return item.getName();
+            }
+
+            @Override
+            public String getDescription() {
+                return item.getDescription();
+            }
+        };
+    }
+}
@@ -11,19 +11,26 @@ import ru.practicum.shareit.item.dal.ItemRepository;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSummary;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.item.service.ItemSummaryService;
 import ru.practicum.shareit.request.dal.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dal.UserRepository;
+import ru.practicum.shareit.user.filter.UserIdFilter;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -36,6 +43,8 @@ public class ItemServiceImplTest {
     private BookingRepository bookingRepository;
     private CommentRepository commentRepository;
     private ItemRequestRepository itemRequestRepository;
+    private ItemSearchEngine itemSearchEngine;
+    private ItemSummaryService itemSummaryService;
 
     private User user;
     private Item item;
@@ -49,7 +58,10 @@ public class ItemServiceImplTest {
         bookingRepository = mock(BookingRepository.class);
         commentRepository = mock(CommentRepository.class);
         itemRequestRepository = mock(ItemRequestRepository.class);
-        itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository, itemRequestRepository);
+        itemSearchEngine = mock(ItemSearchEngine.class);
+        itemSummaryService = mock(ItemSummaryService.class);
+        itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository,
+                itemRequestRepository, itemSearchEngine, itemSummaryService, new UserIdFilter(userRepository, 1000, 0.01));
 
         user = new User(1L, "User", "test@google.com");
         itemRequest = new ItemRequest(1L, "ItemRequest description", user.getId(), LocalDateTime.now());
@@ -62,13 +74,50 @@ public class ItemServiceImplTest {
     void createItemShouldSaveItem() {
         when(userRepository.existsById(user.getId())).thenReturn(true);
         when(itemRequestRepository.findById(itemDto.getRequestId())).thenReturn(Optional.of(itemRequest));
-        when(itemRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(itemRepository.save(any())).thenAnswer(invocation -> {
+            Item saved = invocation.getArgument(0);
+            assertNull(saved.getId());
+            saved.setId(1L);
+            return saved;
+        });
 
         ItemDto result = itemService.createItem(itemDto, user.getId());
 
         assertNotNull(result);
+        assertEquals(1L, result.getId());
         assertEquals(itemDto.getName(), result.getName());
         verify(itemRepository, times(1)).save(any());
+        verify(itemSearchEngine, times(1)).index(any());
+    }
+
+    @Test
+    void createItemsShouldSaveAllItemsAtOnce() {
+        ItemDto plainItemDto = new ItemDto(0, "Другая", "Без запроса", true);
+        when(userRepository.existsById(user.getId())).thenReturn(true);
+        when(itemRequestRepository.findAllById(Set.of(itemRequest.getId()))).thenReturn(List.of(itemRequest));
+        when(itemRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Item> items = invocation.getArgument(0);
+            for (int i = 0; i < items.size(); i++) {
+                items.get(i).setId(i + 1L);
+            }
+            return items;
+        });
+
+        List<ItemDto> result = itemService.createItems(List.of(itemDto, plainItemDto), user.getId());
+
+        assertEquals(List.of(itemDto.getName(), plainItemDto.getName()), result.stream().map(ItemDto::getName).toList());
+        verify(itemRepository, times(1)).saveAll(any());
+        verify(itemRepository, never()).save(any());
+        verify(itemSearchEngine, times(2)).index(any());
+    }
+
+    @Test
+    void createItemsShouldThrowNotFoundExceptionWhenRequestMissing() {
+        when(userRepository.existsById(user.getId())).thenReturn(true);
+        when(itemRequestRepository.findAllById(any())).thenReturn(List.of());
+
+        assertThrows(NotFoundException.class, () -> itemService.createItems(List.of(itemDto), user.getId()));
+        verify(itemRepository, never()).saveAll(any());
     }
 
     @Test
@@ -130,27 +179,35 @@ public class ItemServiceImplTest {
     @Test
     void getItemsShouldReturnListOfItems() {
         when(userRepository.existsById(user.getId())).thenReturn(true);
-        when(itemRepository.findByOwnerId(user.getId())).thenReturn(Collections.singletonList(item));
-        when(bookingRepository.findLastBookings(any())).thenReturn(Collections.emptyList());
-        when(bookingRepository.findNextBookings(any())).thenReturn(Collections.emptyList());
-        when(commentRepository.findByItemIdOrderByCreatedDesc(anyLong())).thenReturn(Collections.emptyList());
+        when(itemRepository.findByOwnerId(eq(user.getId()), any())).thenReturn(Collections.singletonList(item));
+        LocalDateTime lastBookingEnd = LocalDateTime.now().minusDays(1);
+        when(itemSummaryService.getSummaries(eq(List.of(item.getId())), any()))
+                .thenReturn(Map.of(item.getId(), new ItemSummary(item.getId(), lastBookingEnd, null, null)));
+        Comment comment = new Comment(1L, "comment", item, user, LocalDateTime.now());
+        when(commentRepository.findByItemIdInWithAuthor(List.of(item.getId()))).thenReturn(List.of(comment));
 
-        List<ItemDto> result = itemService.getItems(user.getId());
+        List<ItemDto> result = itemService.getItems(user.getId(), 0, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(itemRepository, times(1)).findByOwnerId(user.getId());
+        assertEquals(lastBookingEnd, result.get(0).getLastBooking());
+        assertNull(result.get(0).getNextBooking());
+        assertEquals(1, result.get(0).getComments().size());
+        assertEquals(user.getName(), result.get(0).getComments().get(0).getAuthorName());
+        verify(itemRepository, times(1)).findByOwnerId(eq(user.getId()), any());
+        verify(commentRepository, times(1)).findByItemIdInWithAuthor(any());
+        verify(commentRepository, never()).findByItemIdOrderByCreatedDesc(anyLong());
     }
 
     @Test
     void searchItemsShouldReturnMatchingItems() {
-        when(itemRepository.search(anyString())).thenReturn(Collections.singletonList(item));
+        when(itemSearchEngine.search(anyString())).thenReturn(Collections.singletonList(ItemMapper.toItemDto(item)));
 
         Collection<ItemDto> result = itemService.searchItems("Item");
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(itemRepository, times(1)).search("Item");
+        verify(itemSearchEngine, times(1)).search("Item");
     }
 
     @Test
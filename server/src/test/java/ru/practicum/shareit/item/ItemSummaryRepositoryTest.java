@@ -0,0 +1,34 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.practicum.shareit.item.dal.ItemSummaryRepository;
+import ru.practicum.shareit.item.model.ItemSummary;
+
+import java.time.LocalDateTime;
+
+@DataJpaTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemSummaryRepositoryTest {
+    private final ItemSummaryRepository itemSummaryRepository;
+    private final TestEntityManager entityManager;
+
+    @Test
+    void upsertShouldInsertMissingRowAndUpdateExistingOne() {
+        LocalDateTime now = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+        itemSummaryRepository.upsert(1L, null, now.plusDays(1), now.plusDays(1));
+        itemSummaryRepository.upsert(1L, now.minusDays(1), null, null);
+        entityManager.clear();
+
+        ItemSummary summary = itemSummaryRepository.findById(1L).orElseThrow();
+        Assertions.assertEquals(1, itemSummaryRepository.count());
+        Assertions.assertEquals(now.minusDays(1), summary.getLastBookingEnd());
+        Assertions.assertNull(summary.getNextBookingStart());
+        Assertions.assertNull(summary.getRefreshAt());
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.booking.dal.BookingRepository;
+import ru.practicum.shareit.booking.dto.ItemBookingDate;
+import ru.practicum.shareit.item.dal.ItemSummaryRepository;
+import ru.practicum.shareit.item.model.ItemSummary;
+import ru.practicum.shareit.item.service.ItemSummaryService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ItemSummaryServiceTest {
+    private ItemSummaryService itemSummaryService;
+    private ItemSummaryRepository itemSummaryRepository;
+    private BookingRepository bookingRepository;
+
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        itemSummaryRepository = mock(ItemSummaryRepository.class);
+        bookingRepository = mock(BookingRepository.class);
+        itemSummaryService = new ItemSummaryService(itemSummaryRepository, bookingRepository,
+                mock(PlatformTransactionManager.class));
+        now = LocalDateTime.now();
+    }
+
+    @Test
+    void getSummariesShouldServeFreshSummariesWithoutQueryingBookings() {
+        ItemSummary summary = new ItemSummary(1L, now.minusDays(1), now.plusDays(1), now.plusDays(1));
+        when(itemSummaryRepository.findAllById(List.of(1L))).thenReturn(List.of(summary));
+
+        Map<Long, ItemSummary> result = itemSummaryService.getSummaries(List.of(1L), now);
+
+        assertSame(summary, result.get(1L));
+        verifyNoInteractions(bookingRepository);
+        verify(itemSummaryRepository, never()).upsert(any(), any(), any(), any());
+    }
+
+    @Test
+    void getSummariesShouldRebuildAndStoreMissingAndStaleSummaries() {
+        ItemSummary stale = new ItemSummary(1L, null, now.minusHours(1), now.minusHours(1));
+        when(itemSummaryRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(stale));
+        when(bookingRepository.findLastBookingEnds(List.of(1L, 2L), now))
+                .thenReturn(List.of(date(1L, now.minusMinutes(5))));
+        when(bookingRepository.findNextBookingStarts(List.of(1L, 2L), now))
+                .thenReturn(List.of(date(2L, now.plusDays(2))));
+        when(bookingRepository.findNextBookingEnds(List.of(1L, 2L), now))
+                .thenReturn(List.of(date(2L, now.plusDays(3))));
+
+        Map<Long, ItemSummary> result = itemSummaryService.getSummaries(List.of(1L, 2L), now);
+
+        assertEquals(now.minusMinutes(5), result.get(1L).getLastBookingEnd());
+        assertNull(result.get(1L).getNextBookingStart());
+        assertNull(result.get(1L).getRefreshAt());
+        assertEquals(now.plusDays(2), result.get(2L).getNextBookingStart());
+        assertEquals(now.plusDays(2), result.get(2L).getRefreshAt());
+        verify(itemSummaryRepository).upsert(1L, now.minusMinutes(5), null, null);
+        verify(itemSummaryRepository).upsert(2L, null, now.plusDays(2), now.plusDays(2));
+    }
+
+    @Test
+    void getSummariesShouldServeComputedSummariesWhenStoringFails() {
+        when(itemSummaryRepository.findAllById(List.of(1L))).thenReturn(List.of());
+        doThrow(new DataIntegrityViolationException("duplicate key"))
+                .when(itemSummaryRepository).upsert(any(), any(), any(), any());
+
+        Map<Long, ItemSummary> result = itemSummaryService.getSummaries(List.of(1L), now);
+
+        assertNull(result.get(1L).getLastBookingEnd());
+    }
+
+    @Test
+    void refreshShouldPersistRecomputedSummaries() {
+        when(bookingRepository.findNextBookingStarts(eq(List.of(1L)), any()))
+                .thenReturn(List.of(date(1L, now.plusDays(1))));
+
+        itemSummaryService.refresh(1L);
+
+        verify(itemSummaryRepository).upsert(eq(1L), isNull(), eq(now.plusDays(1)), eq(now.plusDays(1)));
+    }
+
+    private static ItemBookingDate date(Long itemId, LocalDateTime date) {
+        return new ItemBookingDate() {
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public LocalDateTime getDate() {
+                return date;
+            }
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.item;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dal.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dal.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class SecondLevelCacheTest {
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        item = itemRepository.save(new Item(0L, "Name", "description", true, 1L));
+        itemRequestRepository.save(new ItemRequest(null, "description", 1L, LocalDateTime.now()));
+
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void repeatedFindByIdShouldBeServedFromEntityCache() {
+        itemRepository.findById(item.getId());
+        long statements = statistics.getPrepareStatementCount();
+
+        Assertions.assertEquals("Name", itemRepository.findById(item.getId()).orElseThrow().getName());
+        Assertions.assertEquals(statements, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(1, statistics.getDomainDataRegionStatistics("item").getHitCount());
+    }
+
+    @Test
+    void repeatedFindByOwnerIdShouldBeServedFromQueryCache() {
+        itemRepository.findByOwnerId(1L, PageRequest.of(0, 10));
+        long statements = statistics.getPrepareStatementCount();
+
+        List<Item> items = itemRepository.findByOwnerId(1L, PageRequest.of(0, 10));
+        Assertions.assertEquals(1, items.size());
+        Assertions.assertEquals(statements, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(1, statistics.getQueryRegionStatistics("itemsByOwner").getHitCount());
+    }
+
+    @Test
+    void repeatedFindByRequestorShouldBeServedFromQueryCache() {
+        itemRequestRepository.findByRequestorOrderByCreatedDesc(1L);
+        long statements = statistics.getPrepareStatementCount();
+
+        Assertions.assertEquals(1, itemRequestRepository.findByRequestorOrderByCreatedDesc(1L).size());
+        Assertions.assertEquals(statements, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(1, statistics.getQueryRegionStatistics("itemRequestsByRequestor").getHitCount());
+    }
+
+    @Test
+    void writeShouldInvalidateQueryCache() {
+        itemRepository.findByOwnerId(1L, PageRequest.of(0, 10));
+        itemRepository.save(new Item(0L, "Other", "description", true, 1L));
+
+        Assertions.assertEquals(2, itemRepository.findByOwnerId(1L, PageRequest.of(0, 10)).size());
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+    }
+}
@@ -79,7 +79,7 @@ public class ItemRequestControllerTest {
 
     @Test
     void getAllRequestsShouldReturnListOfRequests() throws Exception {
-        when(itemRequestService.getAllRequests(eq(1L))).thenReturn(List.of(itemRequestDto));
+        when(itemRequestService.getAllRequests(eq(1L), eq(0), eq(10))).thenReturn(List.of(itemRequestDto));
 
         mockMvc.perform(get("/requests/all")
                         .header("X-Sharer-User-Id", 1L))
@@ -88,7 +88,7 @@ public class ItemRequestControllerTest {
                 .andExpect(jsonPath("$[0].id").value(itemRequestDto.getId()))
                 .andExpect(jsonPath("$[0].description").value(itemRequestDto.getDescription()));
 
-        verify(itemRequestService, times(1)).getAllRequests(eq(1L));
+        verify(itemRequestService, times(1)).getAllRequests(eq(1L), eq(0), eq(10));
     }
 
     @Test
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.request.dal.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 
@@ -33,7 +34,7 @@ public class ItemRequestRepositoryTest {
 
     @Test
     void findAllByRequestorNotOrderByCreatedDesc() {
-        List<ItemRequest> items = itemRequestRepository.findAllByRequestorNotOrderByCreatedDesc(2L);
+        List<ItemRequest> items = itemRequestRepository.findAllByRequestorNotOrderByCreatedDesc(2L, PageRequest.of(0, 10));
         Assertions.assertEquals(1, items.size());
         Assertions.assertEquals(1L, items.get(0).getId());
     }
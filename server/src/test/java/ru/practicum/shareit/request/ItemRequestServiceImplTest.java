@@ -46,11 +46,17 @@ public class ItemRequestServiceImplTest {
 
     @Test
     void createRequestShouldSaveRequest() {
-        when(itemRequestRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(itemRequestRepository.save(any())).thenAnswer(invocation -> {
+            ItemRequest saved = invocation.getArgument(0);
+            assertNull(saved.getId());
+            saved.setId(1L);
+            return saved;
+        });
 
         ItemRequestDto result = itemRequestService.createRequest(1L, itemRequestDto);
 
         assertNotNull(result);
+        assertEquals(1L, result.getId());
         assertEquals(itemRequestDto.getDescription(), result.getDescription());
         verify(itemRequestRepository, times(1)).save(any());
     }
@@ -71,16 +77,16 @@ public class ItemRequestServiceImplTest {
 
     @Test
     void getAllRequestsShouldReturnRequests() {
-        when(itemRequestRepository.findAllByRequestorNotOrderByCreatedDesc(anyLong())).thenReturn(Collections.singletonList(itemRequest));
+        when(itemRequestRepository.findAllByRequestorNotOrderByCreatedDesc(anyLong(), any())).thenReturn(Collections.singletonList(itemRequest));
         when(itemRepository.findByRequestIdIn(anyList())).thenReturn(Collections.singletonList(item));
 
-        List<ItemRequestDto> result = itemRequestService.getAllRequests(1L);
+        List<ItemRequestDto> result = itemRequestService.getAllRequests(1L, 0, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(itemRequest.getDescription(), result.get(0).getDescription());
         assertEquals(1, result.get(0).getItems().size());
-        verify(itemRequestRepository, times(1)).findAllByRequestorNotOrderByCreatedDesc(anyLong());
+        verify(itemRequestRepository, times(1)).findAllByRequestorNotOrderByCreatedDesc(anyLong(), any());
     }
 
     @Test
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.dal.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dal.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.dal.UserCascadeCache;
+import ru.practicum.shareit.user.dal.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+
+@DataJpaTest
+@Import(UserCascadeCache.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class UserCascadeCacheTest {
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final UserCascadeCache userCascadeCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    private User user;
+    private Item item;
+    private ItemRequest request;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User(0L, "Owner", "owner-" + System.nanoTime() + "@mail.com"));
+        item = new Item(0L, "Дрель", "Ударная", true, user.getId());
+        item.setId(null);
+        item = itemRepository.save(item);
+        request = itemRequestRepository.save(new ItemRequest(null, "Нужна дрель", user.getId(), LocalDateTime.now()));
+    }
+
+    @Test
+    void deleteShouldEvictEntitiesRemovedByDatabaseCascade() {
+        itemRepository.findById(item.getId());
+        itemRequestRepository.findById(request.getId());
+        itemRepository.findByOwnerId(user.getId(), PageRequest.of(0, 10));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM items WHERE owner = ?", user.getId());
+            jdbcTemplate.update("DELETE FROM item_requests WHERE requestor = ?", user.getId());
+            userRepository.deleteById(user.getId());
+            userCascadeCache.evictCascadedEntities();
+        });
+
+        Assertions.assertTrue(itemRepository.findById(item.getId()).isEmpty());
+        Assertions.assertTrue(itemRequestRepository.findById(request.getId()).isEmpty());
+        Assertions.assertTrue(itemRepository.findByOwnerId(user.getId(),
+                PageRequest.of(0, 10)).isEmpty());
+    }
+}
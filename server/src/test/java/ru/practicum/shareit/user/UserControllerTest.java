@@ -76,7 +76,7 @@ public class UserControllerTest {
 
     @Test
     void getUsersShouldReturnListOfUsers() throws Exception {
-        when(userService.getUsers()).thenReturn(List.of(userDto));
+        when(userService.getUsers(0, 10)).thenReturn(List.of(userDto));
 
         mockMvc.perform(get("/users"))
                 .andExpect(status().isOk())
@@ -85,7 +85,7 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$[0].name").value(userDto.getName()))
                 .andExpect(jsonPath("$[0].email").value(userDto.getEmail()));
 
-        verify(userService, times(1)).getUsers();
+        verify(userService, times(1)).getUsers(0, 10);
     }
 
     @Test
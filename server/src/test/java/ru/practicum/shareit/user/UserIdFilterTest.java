@@ -0,0 +1,107 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.user.dal.UserRepository;
+import ru.practicum.shareit.user.filter.UserIdFilter;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class UserIdFilterTest {
+    private UserRepository userRepository;
+    private UserIdFilter userIdFilter;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        userIdFilter = new UserIdFilter(userRepository, 10_000, 0.01);
+    }
+
+    @Test
+    void mightContainShouldAcceptEverythingBeforeWarmUp() {
+        assertTrue(userIdFilter.mightContain(42L));
+    }
+
+    @Test
+    void warmUpShouldLoadAllIdsInBatches() {
+        List<Long> firstBatch = LongStream.rangeClosed(1, 1000).boxed().toList();
+        when(userRepository.findIdsAfter(eq(0L), any(Limit.class))).thenReturn(firstBatch);
+        when(userRepository.findIdsAfter(eq(1000L), any(Limit.class))).thenReturn(List.of(1001L));
+
+        userIdFilter.warmUp();
+
+        assertTrue(LongStream.rangeClosed(1, 1001).allMatch(userIdFilter::mightContain));
+        verify(userRepository, times(2)).findIdsAfter(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void mightContainShouldRejectMostUnknownIds() {
+        when(userRepository.findIdsAfter(anyLong(), any(Limit.class))).thenReturn(List.of());
+        userIdFilter.warmUp();
+        LongStream.rangeClosed(1, 5000).forEach(userIdFilter::add);
+
+        long falsePositives = LongStream.rangeClosed(5001, 15000).filter(userIdFilter::mightContain).count();
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void existsShouldTrustNegativeAndConfirmPositiveWithDatabase() {
+        when(userRepository.findIdsAfter(anyLong(), any(Limit.class))).thenReturn(List.of(7L));
+        userIdFilter.warmUp();
+        when(userRepository.existsById(7L)).thenReturn(true);
+
+        assertTrue(userIdFilter.exists(7L));
+        assertFalse(userIdFilter.exists(8L));
+        verify(userRepository, never()).existsById(8L);
+    }
+
+    @Test
+    void rebuildShouldKeepIdsAddedWhileLoading() {
+        when(userRepository.findIdsAfter(anyLong(), any(Limit.class))).thenReturn(List.of(1L));
+        userIdFilter.warmUp();
+        when(userRepository.findIdsAfter(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            userIdFilter.add(2L);
+            return List.of(1L);
+        });
+
+        userIdFilter.rebuild();
+
+        assertTrue(userIdFilter.mightContain(1L));
+        assertTrue(userIdFilter.mightContain(2L));
+    }
+
+    @Test
+    void addShouldWaitForCommit() {
+        when(userRepository.findIdsAfter(anyLong(), any(Limit.class))).thenReturn(List.of());
+        userIdFilter.warmUp();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userIdFilter.add(7L);
+            assertFalse(userIdFilter.mightContain(7L));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(userIdFilter.mightContain(7L));
+    }
+
+    @Test
+    void addShouldMakeIdVisible() {
+        when(userRepository.findIdsAfter(anyLong(), any(Limit.class))).thenReturn(List.of());
+        userIdFilter.warmUp();
+
+        assertFalse(userIdFilter.mightContain(7L));
+        userIdFilter.add(7L);
+        assertTrue(userIdFilter.mightContain(7L));
+    }
+}
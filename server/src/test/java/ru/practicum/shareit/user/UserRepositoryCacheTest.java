@@ -0,0 +1,64 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.user.dal.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+@DataJpaTest
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE)
+@Import(CacheConfig.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class UserRepositoryCacheTest {
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+    private final TestEntityManager entityManager;
+
+    private User user;
+    private Cache userExists;
+
+    @BeforeEach
+    void setUp() {
+        userExists = cacheManager.getCache(CacheConfig.USER_EXISTS);
+        userExists.clear();
+        user = userRepository.saveAndFlush(new User(0L, "User", "user@mail.com"));
+    }
+
+    @Test
+    void findByIdShouldNotShareUnsavedChanges() {
+        userRepository.findById(user.getId()).orElseThrow().setName("Unsaved");
+        entityManager.clear();
+
+        Assertions.assertEquals("User", userRepository.findById(user.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void existsByIdShouldCacheOnlyPositiveResults() {
+        Assertions.assertTrue(userRepository.existsById(user.getId()));
+        Assertions.assertFalse(userRepository.existsById(user.getId() + 100));
+
+        Assertions.assertNotNull(userExists.get(user.getId()));
+        Assertions.assertNull(userExists.get(user.getId() + 100));
+    }
+
+    @Test
+    void deleteByIdShouldEvictUser() {
+        userRepository.existsById(user.getId());
+
+        userRepository.deleteById(user.getId());
+
+        Assertions.assertNull(userExists.get(user.getId()));
+        Assertions.assertFalse(userRepository.existsById(user.getId()));
+    }
+}
@@ -2,11 +2,18 @@ package ru.practicum.shareit.user;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dal.BookingRepository;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.user.dal.UserCascadeCache;
 import ru.practicum.shareit.user.dal.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
+import ru.practicum.shareit.user.filter.UserIdFilter;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 import ru.practicum.shareit.user.service.UserServiceImpl;
@@ -22,6 +29,9 @@ import static org.mockito.Mockito.*;
 public class UserServiceImplTest {
     private UserService userService;
     private UserRepository userRepository;
+    private UserIdFilter userIdFilter;
+    private BookingRepository bookingRepository;
+    private BookingIntervalIndex bookingIntervalIndex;
 
     private User user1;
     private UserDto userDto1;
@@ -33,7 +43,11 @@ public class UserServiceImplTest {
     void setUp() {
         userRepository = mock(UserRepository.class);
         when(userRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
-        userService = new UserServiceImpl(userRepository);
+        userIdFilter = new UserIdFilter(userRepository, 1000, 0.01);
+        bookingRepository = mock(BookingRepository.class);
+        bookingIntervalIndex = mock(BookingIntervalIndex.class);
+        userService = new UserServiceImpl(userRepository, mock(ItemSearchEngine.class), userIdFilter,
+                bookingRepository, bookingIntervalIndex, mock(UserCascadeCache.class));
 
         user1 = new User();
         user1.setId(1L);
@@ -126,19 +140,21 @@ public class UserServiceImplTest {
     void getUsers() {
         List<User> users = new ArrayList<>();
         users.add(user1);
-        when(userRepository.findAll()).thenReturn(users);
-        List<UserDto> result = userService.getUsers();
+        when(userRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(users));
+        List<UserDto> result = userService.getUsers(0, 10);
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(userRepository, times(1)).findAll();
+        verify(userRepository, times(1)).findAll(any(Pageable.class));
     }
 
 
     @Test
     void deleteUserShouldDeleteUser() {
         when(userRepository.existsById(userDto1.getId())).thenReturn(true);
+        when(bookingRepository.findItemIdsByBookerOrOwner(userDto1.getId())).thenReturn(List.of(3L, 4L));
         userService.deleteUser(userDto1.getId());
         verify(userRepository, times(1)).deleteById(userDto1.getId());
+        verify(bookingIntervalIndex, times(1)).evict(List.of(3L, 4L));
     }
 
     @Test
@@ -147,4 +163,14 @@ public class UserServiceImplTest {
         assertThrows(NotFoundException.class, () -> userService.deleteUser(999L));
         verify(userRepository, never()).deleteById(anyLong());
     }
+
+    @Test
+    void deleteUserShouldTrustFilterForUnknownId() {
+        when(userRepository.findIdsAfter(anyLong(), any())).thenReturn(List.of(1L, 2L));
+        userIdFilter.warmUp();
+
+        assertThrows(NotFoundException.class, () -> userService.deleteUser(999L));
+        verify(userRepository, never()).existsById(999L);
+        verify(userRepository, never()).deleteById(anyLong());
+    }
 }